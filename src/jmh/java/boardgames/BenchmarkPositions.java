@@ -0,0 +1,41 @@
+package boardgames;
+
+// Fixed early-, mid- and late-game positions used by the benchmarks, so results can be compared between changes.
+// None of them is over or has a move that wins on the spot, so the searches below them do real work.
+public class BenchmarkPositions {
+
+    // Connect Four columns played from the empty board ("X" first)
+    private static final int[][] CONNECT_FOUR_MOVES = {
+        { 3, 3, 2, 4 },                                                      // Early: 4 pieces
+        { 6, 1, 0, 3, 2, 2, 5, 0, 4, 6, 1, 6, 6, 0, 3, 4 },                  // Midgame: 16 pieces
+        { 6, 6, 2, 0, 1, 3, 6, 1, 3, 6, 1, 5, 4, 1, 4, 4, 6, 2, 4, 3,
+          3, 6, 1, 1, 0, 4, 3, 5, 4, 0 }                                     // Late: 30 pieces
+    };
+
+    // Tic Tac Toe spaces (1-9) played from the empty board ("X" first)
+    private static final int[][] TIC_TAC_TOE_MOVES = {
+        { 5 },                 // Early: 1 mark
+        { 5, 1, 9, 3 },        // Midgame: 4 marks
+        { 5, 1, 9, 3, 2, 8 }   // Late: 6 marks
+    };
+
+    // Returns a new board of the game ("ConnectFour" or "TicTacToe") at the stage ("EARLY", "MIDGAME" or "LATE")
+    public static Board create(String game, String stage) {
+        Board board = game.equals("ConnectFour") ? new ConnectFourBoard() : new TicTacToeBoard();
+        int[] moves = moves(game, stage);
+        for (int i = 0; i < moves.length; i++) {
+            board.makeMove(moves[i], i % 2 == 0 ? "X" : "O");
+        }
+        return board;
+    }
+
+    // True if "X" is to move in the position
+    public static boolean xToMove(String game, String stage) {
+        return moves(game, stage).length % 2 == 0;
+    }
+
+    private static int[] moves(String game, String stage) {
+        int stageIndex = stage.equals("EARLY") ? 0 : stage.equals("MIDGAME") ? 1 : 2;
+        return game.equals("ConnectFour") ? CONNECT_FOUR_MOVES[stageIndex] : TIC_TAC_TOE_MOVES[stageIndex];
+    }
+}
@@ -0,0 +1,68 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Throughput of the basic board operations the search calls at every node.
+// Run with "-prof gc" to see the allocation rate next to the ops/s.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({ "ConnectFour", "TicTacToe" })
+    public String game;
+
+    @Param({ "EARLY", "MIDGAME", "LATE" })
+    public String stage;
+
+    private Board board;
+    private int[] moveBuffer;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.create(game, stage);
+        moveBuffer = new int[board.getMaxMoves()];
+    }
+
+    @Benchmark
+    public boolean hasWon() {
+        return board.hasWon("X");
+    }
+
+    @Benchmark
+    public ArrayList<Integer> availableMoves() {
+        return board.availableMoves();
+    }
+
+    // The allocation-free move generation the search uses
+    @Benchmark
+    public int generateMoves() {
+        return board.generateMoves(moveBuffer);
+    }
+
+    @Benchmark
+    public Board cloneBoard() {
+        return board.cloneBoard();
+    }
+
+    @Benchmark
+    public int evaluateBoard() {
+        return board.evaluateBoard();
+    }
+}
@@ -0,0 +1,55 @@
+package boardgames;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Throughput of a fixed-depth minimax search from each benchmark position, with plain alpha-beta and
+// principal variation search.
+// Every invocation searches a fresh clone without a transposition table, so no state (table entries,
+// killer moves, history or principal variation) carries over between invocations and each one does the same work.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({ "ConnectFour", "TicTacToe" })
+    public String game;
+
+    @Param({ "EARLY", "MIDGAME", "LATE" })
+    public String stage;
+
+    @Param({ "2", "4", "6", "8" })
+    public int depth;
+
+    @Param({ "alphabeta", "pvs" })
+    public String search;
+
+    private Board board;
+    private boolean xToMove;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.create(game, stage);
+        xToMove = BenchmarkPositions.xToMove(game, stage);
+        board.setPrincipalVariationSearch(search.equals("pvs"));
+    }
+
+    @Benchmark
+    public SearchResult minimax() {
+        return board.cloneForSearch().minimax(xToMove, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,216 @@
+package boardgames;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Scores a list of positions without the GUI, e.g. a puzzle set or the games exported from a
+// GameJournal. Positions are read one per line from a file or standard input and analyzed in parallel;
+// the results are written in the same order as the input, as soon as each one is ready.
+//
+// The positions flow through a pipeline: the reading thread submits each one to the worker threads and
+// puts its Future in a bounded queue, and the writing thread takes the Futures from the queue in order and
+// prints each result when it is done. When the queue is full the reader waits for the writer
+// (back-pressure), so only a fixed number of positions are in memory however long the input is.
+//
+// Input lines:
+//   3 3 4 2          the moves from the start of the game (columns 0-6 for Connect Four, spaces for the
+//                    other games), separated by spaces or commas; "X" moves first
+//   key=123456789    a Connect Four position key (ConnectFourBoard.getPositionKey, decimal or 0x hex)
+//   (empty lines and lines starting with # are skipped)
+// Output lines, tab-separated:
+//   input line, score (positive favours "X"), best move, depth, nodes, time in ms
+//   or the input line and "error: ..." if the line is not a legal position (or its analysis failed)
+//
+// Usage: java boardgames.BatchAnalyzer [options] [input file, default standard input]
+//   --game=connect4|tictactoe|gomoku|<Board class name>  Game of the positions (default connect4)
+//   --engine=<settings>  Search settings, as in Tournament: depth=N, time=MS, nodes=N,
+//                        search=alphabeta|pvs|mcts, playouts=N and solve=N (default depth=10)
+//   --threads=N          Positions analyzed at the same time (default: one per core)
+//   --queue=N            Positions in flight between the reader and the writer (default 4 per thread)
+//   --tt-mb=N            Transposition table size per thread, cleared before each position (default 4)
+public class BatchAnalyzer {
+
+    private final String game;
+    private final Tournament.EngineSettings settings;
+
+    // An input line on its way to the writer, with its result once a worker has analyzed it
+    private static final class PendingLine {
+        final String position;
+        final Future<String> result;
+
+        PendingLine(String position, Future<String> result) {
+            this.position = position;
+            this.result = result;
+        }
+    }
+
+    private static final PendingLine END_OF_INPUT = new PendingLine(null, null);  // Tells the writer to stop
+
+    // Each worker thread keeps its own table, solver and Monte Carlo search between positions
+    private final ThreadLocal<TranspositionTable> tables;
+    private final ThreadLocal<ConnectFourSolver> solvers;
+    private final ThreadLocal<MonteCarloTreeSearch> monteCarloSearches;
+
+    BatchAnalyzer(String game, Tournament.EngineSettings settings, int ttMegabytes) {
+        this.game = game;
+        this.settings = settings;
+        this.tables = ThreadLocal.withInitial(() -> new TranspositionTable(ttMegabytes));
+        this.solvers = ThreadLocal.withInitial(() -> new ConnectFourSolver(ttMegabytes));
+        this.monteCarloSearches = ThreadLocal.withInitial(() -> new MonteCarloTreeSearch(1));
+        // Fail early if the game is unknown or cannot be solved
+        if (settings.solveEmptyCells > 0 && !(Tournament.createBoard(game) instanceof ConnectFourBoard)) {
+            throw new IllegalArgumentException("solve=N is only supported for Connect Four");
+        }
+    }
+
+    // Reads positions from the reader and writes one result line per position, in input order
+    void run(BufferedReader input, PrintWriter output, int threads, int queueSize) throws IOException, InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        BlockingQueue<PendingLine> results = new ArrayBlockingQueue<>(queueSize);
+
+        Thread writer = new Thread(() -> writeResults(results, output), "analyzer writer");
+        writer.start();
+        try {
+            String line;
+            while ((line = input.readLine()) != null) {
+                String position = line.trim();
+                if (position.isEmpty() || position.startsWith("#")) continue;
+                results.put(new PendingLine(position, workers.submit(() -> analyze(position))));  // Blocks while the queue is full
+            }
+        } finally {
+            results.put(END_OF_INPUT);
+            writer.join();
+            workers.shutdown();
+        }
+    }
+
+    // Runs on the writer thread: prints the results in order, flushing whenever it has to wait for one
+    private void writeResults(BlockingQueue<PendingLine> results, PrintWriter output) {
+        try {
+            while (true) {
+                PendingLine line = results.take();
+                if (line == END_OF_INPUT) break;
+                if (!line.result.isDone()) output.flush();  // Let a downstream reader see everything so far
+                try {
+                    output.println(line.result.get());
+                } catch (ExecutionException e) {
+                    // analyze reports bad input itself, so only a failed search gets here; report it on the
+                    // line's own output line and keep going so the reader never waits forever
+                    output.println(line.position + "\terror: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        output.flush();
+    }
+
+    // Analyzes one input line and returns its output line
+    String analyze(String position) {
+        Board board;
+        try {
+            board = parsePosition(position);
+        } catch (IllegalArgumentException e) {
+            return position + "\terror: " + e.getMessage();
+        }
+        boolean xToMove = board.getMoveCount() % 2 == 0;
+        if (board.gameIsOver()) return position + "\t" + board.evaluateBoard() + "\t-1\t0\t0\t0.0";
+
+        TranspositionTable table = tables.get();
+        table.clear();  // Each position is analyzed from scratch, so the results do not depend on the order
+        board.setTranspositionTable(table);
+        board.setPrincipalVariationSearch(settings.principalVariationSearch);
+        MonteCarloTreeSearch monteCarlo = settings.monteCarlo ? monteCarloSearches.get() : null;
+        if (monteCarlo != null) monteCarlo.clear();
+        ConnectFourSolver solver = settings.solveEmptyCells > 0 ? solvers.get() : null;
+
+        long start = System.nanoTime();
+        SearchResult result = settings.chooseMove(board, xToMove, solver, monteCarlo, null);
+        double millis = (System.nanoTime() - start) / 1e6;
+        return String.format("%s\t%d\t%d\t%d\t%d\t%.1f", position, result.getScore(), result.getMove(), result.getDepth(),
+                result.getStats().getNodes(), millis);
+    }
+
+    // Builds the position of an input line: a Connect Four position key or a list of moves
+    private Board parsePosition(String position) {
+        Board board = Tournament.createBoard(game);
+        if (position.startsWith("key=")) {
+            if (!(board instanceof ConnectFourBoard)) throw new IllegalArgumentException("position keys are only supported for Connect Four");
+            long key;
+            try {
+                key = Long.decode(position.substring(4).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("not a number: " + position.substring(4).trim());
+            }
+            ConnectFourBoard keyBoard = ConnectFourBoard.fromPositionKey(key);
+            if (keyBoard == null) throw new IllegalArgumentException("not a valid position key");
+            return keyBoard;
+        }
+
+        // Connect Four moves are columns from 0, the other games' are spaces from 1
+        int firstMove = board instanceof ConnectFourBoard ? 0 : 1;
+        int lastMove = firstMove + board.getMaxMoves() - 1;
+        int ply = 0;
+        for (String token : position.split("[\\s,]+")) {
+            int move;
+            try {
+                move = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("not a move: " + token);
+            }
+            if (move < firstMove || move > lastMove) {
+                throw new IllegalArgumentException("move " + move + " is off the board (" + firstMove + "-" + lastMove + ")");
+            }
+            if (board.gameIsOver()) throw new IllegalArgumentException("move " + move + " after the end of the game");
+            if (!board.makeMove(move, ply % 2 == 0 ? "X" : "O")) throw new IllegalArgumentException("illegal move " + move + " (occupied or full)");
+            ply++;
+        }
+        return board;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String game = "connect4";
+        Tournament.EngineSettings settings = Tournament.EngineSettings.parse("depth=10");
+        int threads = Runtime.getRuntime().availableProcessors();
+        int queueSize = 0;
+        int ttMegabytes = 4;
+        String inputFile = null;
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--game": game = option[1]; break;
+                case "--engine": settings = Tournament.EngineSettings.parse(option[1]); break;
+                case "--threads": threads = Integer.parseInt(option[1]); break;
+                case "--queue": queueSize = Integer.parseInt(option[1]); break;
+                case "--tt-mb": ttMegabytes = Integer.parseInt(option[1]); break;
+                default:
+                    if (arg.startsWith("--")) throw new IllegalArgumentException("Unknown option: " + arg);
+                    inputFile = arg;
+            }
+        }
+        if (queueSize <= 0) queueSize = threads * 4;
+
+        BatchAnalyzer analyzer = new BatchAnalyzer(game, settings, ttMegabytes);
+        try (BufferedReader input = inputFile != null
+                ? Files.newBufferedReader(Paths.get(inputFile), StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+             PrintWriter output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))) {
+            output.println("# input\tscore\tmove\tdepth\tnodes\tms  (" + game + ", " + settings + ")");
+            analyzer.run(input, output, threads, queueSize);
+        }
+    }
+}
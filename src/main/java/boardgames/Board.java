@@ -0,0 +1,585 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// This is an abstract class that serves as a blueprint for creating different types of game boards (e.g., Tic-Tac-Toe).
+public abstract class Board {
+
+    // Abstract method to set a player's mark on a specified space on the board.
+    abstract public boolean setSpace(int space, String player);
+
+    // Abstract method to check if a specific player has won the game.
+    abstract public boolean hasWon(String player);
+
+    // Abstract method to check if the game is over (either win or draw).
+    abstract public boolean gameIsOver();
+
+    // Abstract method to check if every space on the board is taken.
+    abstract public boolean isFull();
+
+    // Abstract method to write the available moves into a caller-owned array and return how many there are.
+    // The array must have room for getMaxMoves() moves. The search uses this so it does not allocate.
+    abstract public int generateMoves(int[] moves);
+
+    // Abstract method to return the largest number of moves that can be available in any position.
+    abstract public int getMaxMoves();
+
+    // Abstract method to return the number of marks or pieces on the board ("X" moves when it is even).
+    abstract public int getMoveCount();
+
+    // Returns a list of available moves that the player can make.
+    // It allocates a new list on every call, so it is meant for the UI; the search uses generateMoves.
+    public ArrayList<Integer> availableMoves() {
+        int[] moves = new int[getMaxMoves()];
+        int count = generateMoves(moves);
+        ArrayList<Integer> movesList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) movesList.add(moves[i]);
+        return movesList;
+    }
+
+    // Abstract method to convert a space number into a coordinate (row, column) on the board.
+    abstract public int[] getSpotOnBoard(int space);
+
+    // Abstract method to create and return a clone (deep copy) of the current board.
+    abstract public Board cloneBoard();
+
+    // Abstract method to place a player's mark in place and remember it so it can be taken back.
+    // Returns false (and changes nothing) if the move is not legal.
+    abstract public boolean makeMove(int space, String player);
+
+    // Abstract method to take back the most recent move made with makeMove (or setSpace).
+    abstract public void undoMove();
+
+    // Abstract method to evaluate the current state of the board and return a numeric score.
+    abstract public int evaluateBoard();
+
+    // Abstract method to return the current layout of the board as a 2D string array.
+    abstract public String[][] getBoardLayout(); 
+
+    // Abstract method to return the Zobrist hash of the pieces on the board.
+    // Implementations update it incrementally in makeMove and undoMove.
+    abstract public long getHash();
+
+    // Random key mixed into the hash when "X" is to move, so the same pieces with a different
+    // player to move are stored as different positions in the transposition table.
+    private static final long SIDE_TO_MOVE_KEY = 0x9E3779B97F4A7C15L;
+
+    // Symmetries: boards whose positions have mirror images or rotations that play exactly the same override
+    // these, so the transposition table keeps one entry for all orientations of a position. Each board numbers
+    // its symmetries; 0 is always the identity. The table stores moves in the canonical orientation.
+
+    // Returns the symmetry that turns the current position into its canonical form
+    public int getCanonicalSymmetry() {
+        return 0;
+    }
+
+    // Returns the hash of the canonical form, which is the same for every orientation of the position
+    public long getCanonicalHash() {
+        return getHash();
+    }
+
+    // Maps a move of the current position to the same move in the orientation given by a symmetry
+    public int toCanonicalMove(int move, int symmetry) {
+        return move;
+    }
+
+    // Maps a move of the orientation given by a symmetry back to the current position
+    public int fromCanonicalMove(int move, int symmetry) {
+        return move;
+    }
+
+    // Optional transposition table used by minimax (null disables it).
+    private TranspositionTable transpositionTable;
+
+    // Sets the transposition table minimax should use. The table can be shared between boards.
+    public void setTranspositionTable(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    // Optional source of randomness (null means fully deterministic searches).
+    // It is only used to pick between root moves with exactly the same score, so games vary
+    // without hurting move ordering. Seed it to make games reproducible.
+    private Random random;
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    // Move ordering state, used to search the moves most likely to cause a cutoff first:
+    // two "killer" moves per ply (moves that caused a cutoff at that ply in a sibling position)
+    // and a history score per player and move (how often the move caused cutoffs, weighted by depth).
+    private static final int MAX_HISTORY = 1 << 20;
+    private int[][] killerMoves = new int[0][];
+    private int[][] history = new int[2][0];
+    private int searchPly;  // Distance from the root of the current search
+
+    // Reusable buffers so the search does not allocate per node: the moves of each ply being searched,
+    // a scratch array for the ordering scores, and the best move of the node that returned last.
+    private int[][] moveBuffers = new int[0][];
+    private int[] orderScores = new int[0];
+    private int nodeBestMove = -1;
+
+    // Counters for the searches run on this board (nodes, cutoffs, ...), reset by resetSearchStats.
+    private SearchStats searchStats = new SearchStats();
+
+    // Search algorithm used by minimax: plain alpha-beta, or principal variation search (PVS, also called
+    // NegaScout). PVS searches the first move of each node with the full window and the others with a null
+    // window that only asks whether they are better; a move that is gets searched again with the full window.
+    // With good move ordering most moves fail the null-window test cheaply. PVS also keeps the principal
+    // variation (the line both players are expected to play) and searches it first in the next search.
+    private boolean principalVariationSearch;
+
+    // Principal variation of each ply (pvMoves[ply] holds pvLengths[ply] moves, the best line from that ply),
+    // the line of the last finished search and the position it started from, and whether the current
+    // node is still on that line.
+    private int[][] pvMoves = new int[0][];
+    private int[] pvLengths = new int[0];
+    private int[] previousPv = new int[0];
+    private long previousPvKey;
+    private boolean followingPv;
+
+    // Creates a clone that also shares this board's search settings (transposition table, randomness
+    // and cancel flag), so another thread can search the same position.
+    public Board cloneForSearch() {
+        Board copy = cloneBoard();
+        copy.transpositionTable = transpositionTable;
+        copy.random = random;
+        copy.cancelFlag = cancelFlag;
+        copy.principalVariationSearch = principalVariationSearch;
+        return copy;
+    }
+
+    // Limits that let a running search be stopped early (used by IterativeDeepening).
+    // Once a limit is hit the search unwinds immediately and its result must be thrown away.
+    private long searchDeadline;     // System.nanoTime() value after which to stop (0 means no deadline)
+    private long nodeLimit;          // Maximum number of nodes to visit (0 means no limit)
+    private long nodesSearched;      // Nodes visited since the limits were set
+    private AtomicLong sharedNodeBudget; // Nodes left for all the boards of a parallel search (null if not shared)
+    private boolean searchAborted;   // True once a limit has been hit
+    private AtomicBoolean cancelFlag; // Set from another thread to cancel a running search (null if not cancellable)
+
+    // Sets the time and node limits for the following minimax calls and resets the node counter.
+    public void setSearchLimits(long deadlineNanos, long maxNodes) {
+        searchDeadline = deadlineNanos;
+        nodeLimit = maxNodes;
+        nodesSearched = 0;
+        searchAborted = false;
+        sharedNodeBudget = null;
+    }
+
+    // Sets the deadline and a node budget shared with other boards (the threads of a parallel search), and
+    // resets the node counter. Visited nodes are taken from the budget 1024 at a time; call
+    // chargeSharedNodes when the search is over to take the rest.
+    public void setSharedSearchLimits(long deadlineNanos, AtomicLong nodeBudget) {
+        setSearchLimits(deadlineNanos, 0);
+        sharedNodeBudget = nodeBudget;
+    }
+
+    // Takes the nodes visited since the last 1024 from the shared node budget
+    public void chargeSharedNodes() {
+        if (sharedNodeBudget != null) sharedNodeBudget.addAndGet(-(nodesSearched & 1023));
+    }
+
+    // Removes the time and node limits.
+    public void clearSearchLimits() {
+        setSearchLimits(0, 0);
+    }
+
+    // Sets a flag that another thread can set to true to cancel searches on this board.
+    // Clones made with cloneForSearch share the flag, so it also cancels a parallel search.
+    public void setCancelFlag(AtomicBoolean cancelFlag) {
+        this.cancelFlag = cancelFlag;
+    }
+
+    // Returns true if the last search was stopped by its time or node limit or was cancelled.
+    public boolean isSearchAborted() {
+        return searchAborted;
+    }
+
+    public long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    // Returns the statistics of the searches run on this board since the last resetSearchStats.
+    public SearchStats getSearchStats() {
+        return searchStats;
+    }
+
+    // Starts a new set of search statistics, e.g. before the AI searches for its next move.
+    public void resetSearchStats() {
+        searchStats = new SearchStats();
+    }
+
+    // Chooses principal variation search (true) or plain alpha-beta (false, the default) for minimax.
+    // Both return the same score at the root; PVS usually visits fewer nodes.
+    public void setPrincipalVariationSearch(boolean enabled) {
+        principalVariationSearch = enabled;
+    }
+
+    public boolean isPrincipalVariationSearch() {
+        return principalVariationSearch;
+    }
+
+    // Half-width of the aspiration window IterativeDeepening puts around the previous iteration's score
+    // when using principal variation search. Boards override it to match the scale of their evaluation.
+    protected int aspirationWindow() {
+        return 1;
+    }
+
+    // This method implements the Minimax algorithm with Alpha-Beta pruning for optimizing decision making.
+    // It determines the best possible move for the current player (either maximizing or minimizing)
+    // and returns it with its score.
+    // The search plays and takes back moves on this board, so it is left unchanged when the method returns.
+    // A board must not be searched by more than one thread at a time; give each thread its own clone.
+    // With principal variation search the result also holds the principal variation.
+    public SearchResult minimax(boolean isMaximizing, int depth, int alpha, int beta) {
+        if (!principalVariationSearch) {
+            int score = alphaBeta(isMaximizing, depth, alpha, beta);
+            return new SearchResult(score, nodeBestMove, depth);
+        }
+
+        // Search the previous principal variation first if it starts from this position
+        long key = getHash() ^ (isMaximizing ? SIDE_TO_MOVE_KEY : 0);
+        followingPv = previousPv.length > 0 && previousPvKey == key;
+        int score = alphaBeta(isMaximizing, depth, alpha, beta);
+        followingPv = false;
+        int[] pv = Arrays.copyOf(pvMoves[0], pvLengths[0]);
+
+        // Only an exact score has a complete line worth following next time
+        if (!searchAborted && score > alpha && score < beta) {
+            previousPv = pv;
+            previousPvKey = key;
+        }
+        return new SearchResult(score, nodeBestMove, depth, null, pv);
+    }
+
+    // The recursive part of minimax. It returns the score and leaves the best move of the node in
+    // nodeBestMove, so nothing is allocated per node.
+    private int alphaBeta(boolean isMaximizing, int depth, int alpha, int beta) {
+        // Initialize the best value based on whether the current player is maximizing or minimizing.
+        int bestValue = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestMove = -1; // -1 indicates no valid move initially.
+        nodeBestMove = -1;
+
+        // Set the symbol ('X' or 'O') based on the player's turn.
+        String symbol = isMaximizing ? "X" : "O";
+
+        // Start this ply's principal variation empty
+        if (principalVariationSearch) clearPv();
+        
+        // Stop right away once the time or node limit is used up (the caller discards this result).
+        if (searchAborted || limitReached()) return 0;
+        searchStats.countNode(searchPly);
+
+        // If the game is over or we've reached the maximum depth, return the evaluated board score and no move.
+        if (gameIsOver() || depth == 0) {
+            searchStats.countLeaf();
+            return evaluateBoard();
+        }
+        
+        // Look the position up in the transposition table, if there is one.
+        // Symmetric positions share an entry, keyed and stored in the canonical orientation.
+        TranspositionTable table = transpositionTable;
+        long hash = 0;
+        int symmetry = 0;
+        int tableMove = -1;
+        int originalAlpha = alpha, originalBeta = beta;
+        if (table != null) {
+            symmetry = getCanonicalSymmetry();
+            hash = getCanonicalHash() ^ (isMaximizing ? SIDE_TO_MOVE_KEY : 0);
+            long entry = table.probe(hash);
+            searchStats.countTableProbe(entry != 0);
+            if (entry != 0) {
+                tableMove = moveFromTable(TranspositionTable.moveOf(entry), symmetry);
+                // A result searched at least as deep can narrow the window or answer the node outright.
+                // The root is always searched so that every root move gets a score.
+                if (TranspositionTable.depthOf(entry) >= depth && searchPly > 0) {
+                    int score = TranspositionTable.scoreOf(entry);
+                    int bound = TranspositionTable.boundOf(entry);
+                    if (bound == TranspositionTable.LOWER_BOUND) alpha = Math.max(alpha, score);
+                    else if (bound == TranspositionTable.UPPER_BOUND) beta = Math.min(beta, score);
+                    if (bound == TranspositionTable.EXACT || beta <= alpha) {
+                        nodeBestMove = tableMove;
+                        if (principalVariationSearch && tableMove != -1) updatePv(tableMove, false);
+                        return score;
+                    }
+                }
+            }
+        }
+
+        // On the previous principal variation, its move is searched first (even if the table lost it).
+        boolean onPv = followingPv;
+        int pvMove = onPv && searchPly < previousPv.length ? previousPv[searchPly] : -1;
+
+        // Get all the available moves that can be made, in the order they should be searched.
+        int[] moves = moveBuffer(searchPly);
+        int moveCount = orderMoves(isMaximizing, pvMove != -1 ? pvMove : tableMove, moves);
+
+        // At the root, a random choice between equally good moves keeps games varied. The window is opened
+        // one point past the best score so far, so a move that ties it still gets an exact score.
+        boolean randomRoot = searchPly == 0 && random != null;
+        int tiedMoves = 0;
+        
+        // Loop through each possible move.
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+
+            // Play the move on this board in place to simulate it (no copy of the board is made).
+            makeMove(move, symbol);
+    
+            // Recursively call the minimax function to evaluate the board after this hypothetical move.
+            int childAlpha = alpha, childBeta = beta;
+            if (randomRoot && isMaximizing && alpha != Integer.MIN_VALUE) childAlpha = alpha - 1;
+            if (randomRoot && !isMaximizing && beta != Integer.MAX_VALUE) childBeta = beta + 1;
+            searchPly++;
+            followingPv = onPv && i == 0 && move == pvMove;  // The child stays on the line only through its move
+            int hypotheticalValue;
+            if (principalVariationSearch && i > 0) {
+                // Null window just above the best score so far (below it for the minimizing player):
+                // the result only says whether this move is better.
+                int nullAlpha = isMaximizing ? childAlpha : childBeta - 1;
+                int nullBeta = isMaximizing ? childAlpha + 1 : childBeta;
+                hypotheticalValue = alphaBeta(!isMaximizing, depth - 1, nullAlpha, nullBeta);
+
+                // It is better but inside the window: search it again to get its exact score.
+                if (!searchAborted && hypotheticalValue > childAlpha && hypotheticalValue < childBeta) {
+                    searchStats.countResearch();
+                    hypotheticalValue = alphaBeta(!isMaximizing, depth - 1, childAlpha, childBeta);
+                }
+            } else {
+                hypotheticalValue = alphaBeta(!isMaximizing, depth - 1, childAlpha, childBeta);
+            }
+            followingPv = false;
+            searchPly--;
+
+            // Take the move back so the board is unchanged for the next candidate.
+            undoMove();
+
+            // The value is meaningless if a limit was hit below this move, so unwind without using it.
+            if (searchAborted) {
+                nodeBestMove = -1;
+                return 0;
+            }
+    
+            // Maximizing player's turn: Try to find the maximum score.
+            if (isMaximizing) {
+                if (hypotheticalValue > bestValue) {
+                    bestValue = hypotheticalValue;
+                    bestMove = move; // Update the best move if this move has a higher score.
+                    tiedMoves = 1;
+                    if (principalVariationSearch) updatePv(move, true);
+                } else if (randomRoot && hypotheticalValue == bestValue && random.nextInt(++tiedMoves) == 0) {
+                    bestMove = move; // Each of the tied moves ends up chosen with equal probability.
+                    if (principalVariationSearch) updatePv(move, true);
+                }
+
+                // Update alpha to be the best score found so far.
+                alpha = Math.max(alpha, bestValue);
+            } 
+            // Minimizing player's turn: Try to find the minimum score.
+            else {
+                if (hypotheticalValue < bestValue) {
+                    bestValue = hypotheticalValue;
+                    bestMove = move; // Update the best move if this move has a lower score.
+                    tiedMoves = 1;
+                    if (principalVariationSearch) updatePv(move, true);
+                } else if (randomRoot && hypotheticalValue == bestValue && random.nextInt(++tiedMoves) == 0) {
+                    bestMove = move; // Each of the tied moves ends up chosen with equal probability.
+                    if (principalVariationSearch) updatePv(move, true);
+                }
+
+                // Update beta to be the best score found so far.
+                beta = Math.min(beta, bestValue);
+            }
+    
+            // Alpha-Beta pruning: If beta is less than or equal to alpha, stop further exploration of this branch.
+            if (beta <= alpha) {
+                recordCutoff(isMaximizing, move, depth); // Remember the move for ordering sibling positions
+                searchStats.countCutoff(i == 0);
+                break;
+            }
+        }
+    
+        // Remember the result, noting whether it is exact or only a bound because of a cutoff.
+        if (table != null) {
+            int bound = bestValue <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : bestValue >= originalBeta ? TranspositionTable.LOWER_BOUND
+                    : TranspositionTable.EXACT;
+            table.store(hash, depth, bestValue, bound, moveToTable(bestMove, symmetry));
+        }
+
+        // Return the best score; the corresponding best move is left in nodeBestMove.
+        nodeBestMove = bestMove;
+        return bestValue;
+    }
+
+    // Plays a root move, searches the resulting position as ply 1 of a search rooted on this board,
+    // takes the move back and returns its score. Used by ParallelSearch, which handles the root itself.
+    public int searchRootMove(boolean isMaximizing, int move, int depth, int alpha, int beta) {
+        makeMove(move, isMaximizing ? "X" : "O");
+        searchPly = 1;
+        int score = alphaBeta(!isMaximizing, depth - 1, alpha, beta);
+        searchPly = 0;
+        undoMove();
+        return score;
+    }
+
+    // Writes the available moves into the array in the order minimax searches them and returns how many
+    // there are: the transposition table's move, then the killer moves of the current ply, then by
+    // history score and the board's static order. The array must have room for getMaxMoves() moves.
+    public int orderMoves(boolean isMaximizing, int tableMove, int[] moves) {
+        // Get all the available moves that can be made.
+        int count = generateMoves(moves);
+        if (orderScores.length < count) orderScores = new int[getMaxMoves()];
+        int[] scores = orderScores;
+        for (int i = 0; i < count; i++) {
+            scores[i] = moveOrderScore(isMaximizing, moves[i], tableMove);
+        }
+
+        // Insertion sort by descending score (move lists are short, and equal scores keep their order)
+        for (int i = 1; i < count; i++) {
+            int score = scores[i];
+            int move = moves[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                scores[j + 1] = scores[j];
+                moves[j + 1] = moves[j];
+                j--;
+            }
+            scores[j + 1] = score;
+            moves[j + 1] = move;
+        }
+        return count;
+    }
+
+    // Empties the principal variation of the current ply, creating the ply's row the first time the search
+    // gets that deep.
+    private void clearPv() {
+        if (searchPly >= pvLengths.length) {
+            int[][] grown = Arrays.copyOf(pvMoves, Math.max(16, searchPly * 2));
+            for (int i = pvMoves.length; i < grown.length; i++) grown[i] = new int[16];
+            pvMoves = grown;
+            pvLengths = Arrays.copyOf(pvLengths, grown.length);
+        }
+        pvLengths[searchPly] = 0;
+    }
+
+    // Makes the move, followed by the line of the child just searched if withChildLine is set, the
+    // principal variation of the current ply.
+    private void updatePv(int move, boolean withChildLine) {
+        int childLength = withChildLine && searchPly + 1 < pvLengths.length ? pvLengths[searchPly + 1] : 0;
+        int[] line = pvMoves[searchPly];
+        if (line.length <= childLength) line = pvMoves[searchPly] = Arrays.copyOf(line, (childLength + 1) * 2);
+        line[0] = move;
+        if (childLength > 0) System.arraycopy(pvMoves[searchPly + 1], 0, line, 1, childLength);
+        pvLengths[searchPly] = childLength + 1;
+    }
+
+    // Returns the move buffer of a ply, creating it the first time the search gets that deep.
+    private int[] moveBuffer(int ply) {
+        if (ply >= moveBuffers.length) {
+            int[][] grown = Arrays.copyOf(moveBuffers, Math.max(16, ply * 2));
+            for (int i = moveBuffers.length; i < grown.length; i++) grown[i] = new int[getMaxMoves()];
+            moveBuffers = grown;
+        }
+        return moveBuffers[ply];
+    }
+
+    // Scores a move for ordering; higher scores are searched first.
+    private int moveOrderScore(boolean isMaximizing, int move, int tableMove) {
+        if (move == tableMove) return Integer.MAX_VALUE;
+        if (searchPly < killerMoves.length) {
+            if (killerMoves[searchPly][0] == move) return Integer.MAX_VALUE - 1;
+            if (killerMoves[searchPly][1] == move) return Integer.MAX_VALUE - 2;
+        }
+        int[] sideHistory = history[isMaximizing ? 0 : 1];
+        int historyScore = move < sideHistory.length ? sideHistory[move] : 0;
+        return historyScore + staticMoveScore(move);
+    }
+
+    // Static ordering bonus for a move, used before any history is known (e.g. centre first).
+    // Boards can override it; higher values are searched first.
+    protected int staticMoveScore(int move) {
+        return 0;
+    }
+
+    // Updates the killer moves and history after the move caused a cutoff.
+    private void recordCutoff(boolean isMaximizing, int move, int depth) {
+        if (searchPly >= killerMoves.length) {
+            int[][] grown = new int[Math.max(16, searchPly * 2)][];
+            for (int i = 0; i < grown.length; i++) {
+                grown[i] = i < killerMoves.length ? killerMoves[i] : new int[] { -1, -1 };
+            }
+            killerMoves = grown;
+        }
+        int[] killers = killerMoves[searchPly];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+
+        int side = isMaximizing ? 0 : 1;
+        if (move >= history[side].length) history[side] = Arrays.copyOf(history[side], Math.max(16, move * 2));
+        history[side][move] += depth * depth;
+        if (history[side][move] > MAX_HISTORY) {
+            // Halve every score so recent cutoffs keep their weight and the values cannot overflow
+            for (int i = 0; i < history[side].length; i++) history[side][i] /= 2;
+        }
+    }
+
+    // Forgets the killer moves and history, e.g. before searching a new game.
+    public void clearMoveOrdering() {
+        killerMoves = new int[0][];
+        history = new int[2][0];
+    }
+
+    // Returns the best move the transposition table remembers for this position, or -1 if there is none.
+    public int getTableMove(boolean isMaximizing) {
+        if (transpositionTable == null) return -1;
+        long entry = transpositionTable.probe(getCanonicalHash() ^ (isMaximizing ? SIDE_TO_MOVE_KEY : 0));
+        return entry == 0 ? -1 : moveFromTable(TranspositionTable.moveOf(entry), getCanonicalSymmetry());
+    }
+
+    // Stores an exact search result for this position in the transposition table, if there is one.
+    // Used by searches that score the root moves themselves (e.g. ParallelSearch).
+    public void storeTableEntry(boolean isMaximizing, int depth, int score, int move) {
+        if (transpositionTable == null) return;
+        transpositionTable.store(getCanonicalHash() ^ (isMaximizing ? SIDE_TO_MOVE_KEY : 0), depth, score,
+                TranspositionTable.EXACT, moveToTable(move, getCanonicalSymmetry()));
+    }
+
+    // Converts between moves of this position and the canonical moves kept in the transposition table
+    // (-1, no move, is kept as it is)
+    private int moveToTable(int move, int symmetry) {
+        return move == -1 || symmetry == 0 ? move : toCanonicalMove(move, symmetry);
+    }
+
+    private int moveFromTable(int move, int symmetry) {
+        return move == -1 || symmetry == 0 ? move : fromCanonicalMove(move, symmetry);
+    }
+
+    // Counts a node and checks the search limits. The clock, the cancel flag and the shared node budget
+    // are only read every 1024 nodes to keep it cheap.
+    private boolean limitReached() {
+        nodesSearched++;
+        if (nodeLimit > 0 && nodesSearched > nodeLimit) searchAborted = true;
+        else if ((nodesSearched & 1023) == 0) {
+            if (cancelFlag != null && cancelFlag.get()) searchAborted = true;
+            else if (sharedNodeBudget != null && sharedNodeBudget.addAndGet(-1024) < 0) searchAborted = true;
+            else if (searchDeadline != 0 && System.nanoTime() - searchDeadline > 0) searchAborted = true;
+        }
+        return searchAborted;
+    }
+}
@@ -0,0 +1,187 @@
+package boardgames;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// The board of a game window, painted by one component instead of a grid of JButtons. A click is mapped
+// to its cell by arithmetic on the mouse position, setting a cell repaints only that cell's rectangle,
+// and the pieces are drawn once into images that are reused for every cell until the window is resized.
+// One component also costs far less than a button per cell (each with its own listener, border and
+// UI delegate), which matters most on the larger MNK boards.
+//
+// Cells are addressed as (row, col) with row 0 at the top, like Board.getBoardLayout, and hold "X", "O"
+// or anything else (e.g. " ") for an empty cell.
+public class BoardPanel extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+
+    // How the pieces look: letters in a white grid (Tic Tac Toe, MNK) or discs in a blue frame (Connect Four)
+    public enum Style { MARKS, DISCS }
+
+    // Called on the event dispatch thread when a cell is clicked
+    public interface CellListener {
+        void cellClicked(int row, int col);
+    }
+
+    private static final Color GRID_COLOR = Color.GRAY;
+    private static final Color FRAME_COLOR = new Color(0, 70, 190);
+    private static final Color X_DISC_COLOR = new Color(220, 30, 30);
+    private static final Color O_DISC_COLOR = new Color(245, 200, 0);
+
+    private final int rows;
+    private final int cols;
+    private final Style style;
+    private final String[][] cells;  // What is shown; only "X" and "O" are drawn
+    private CellListener listener;
+
+    // Rendered pieces, rebuilt when the piece size in device pixels changes
+    private BufferedImage xImage;
+    private BufferedImage oImage;
+    private BufferedImage emptyImage;  // The hole of an empty cell (DISCS only)
+    private int imagePixels;
+
+    public BoardPanel(int rows, int cols, Style style) {
+        this.rows = rows;
+        this.cols = cols;
+        this.style = style;
+        this.cells = new String[rows][cols];
+        setOpaque(true);
+        setPreferredSize(new Dimension(cols * 80, rows * 80));
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (listener == null || !isEnabled() || !SwingUtilities.isLeftMouseButton(e)) return;
+                // Inverse of cellX / cellY below, so a click always lands in the cell that is drawn under it
+                int col = (e.getX() * cols + cols - 1) / Math.max(1, getWidth());
+                int row = (e.getY() * rows + rows - 1) / Math.max(1, getHeight());
+                if (col >= cols) col = cols - 1;
+                if (row >= rows) row = rows - 1;
+                if (row >= 0 && col >= 0) listener.cellClicked(row, col);
+            }
+        });
+    }
+
+    public void setCellListener(CellListener listener) {
+        this.listener = listener;
+    }
+
+    // Shows a piece in one cell and repaints just that cell
+    public void setCell(int row, int col, String piece) {
+        if (piece.equals(cells[row][col])) return;
+        cells[row][col] = piece;
+        repaint(cellX(col), cellY(row), cellX(col + 1) - cellX(col), cellY(row + 1) - cellY(row));
+    }
+
+    // Shows a whole layout (e.g. Board.getBoardLayout), repainting only the cells that changed
+    public void setCells(String[][] layout) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                setCell(row, col, layout[row][col]);
+            }
+        }
+    }
+
+    // Empties every cell
+    public void clear() {
+        for (String[] row : cells) {
+            Arrays.fill(row, null);
+        }
+        repaint();
+    }
+
+    // Left edge of a column; cells share out the width, so they tile the component exactly
+    private int cellX(int col) {
+        return col * getWidth() / cols;
+    }
+
+    private int cellY(int row) {
+        return row * getHeight() / rows;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g2.setColor(style == Style.DISCS ? FRAME_COLOR : Color.WHITE);
+        g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Pieces are squares a little smaller than the smallest cell
+        int pieceSize = Math.max(1, Math.min(getWidth() / cols, getHeight() / rows) * 8 / 10);
+        double scale = g2.getTransform().getScaleX();  // Render at the screen's resolution on scaled displays
+        updateImages((int) Math.ceil(pieceSize * scale));
+
+        // Only the cells inside the clip, which after a move is the single cell that changed
+        int firstCol = Math.max(0, clip.x * cols / Math.max(1, getWidth()));
+        int lastCol = Math.min(cols - 1, (clip.x + clip.width) * cols / Math.max(1, getWidth()));
+        int firstRow = Math.max(0, clip.y * rows / Math.max(1, getHeight()));
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height) * rows / Math.max(1, getHeight()));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = cellX(col);
+                int y = cellY(row);
+                int width = cellX(col + 1) - x;
+                int height = cellY(row + 1) - y;
+                BufferedImage image = "X".equals(cells[row][col]) ? xImage
+                        : "O".equals(cells[row][col]) ? oImage : emptyImage;
+                if (image != null) {
+                    g2.drawImage(image, x + (width - pieceSize) / 2, y + (height - pieceSize) / 2, pieceSize, pieceSize, null);
+                }
+                if (style == Style.MARKS) {
+                    g2.setColor(GRID_COLOR);
+                    g2.drawRect(x, y, width - 1, height - 1);
+                }
+            }
+        }
+    }
+
+    // Renders the pieces at the given size in device pixels, unless they already are
+    private void updateImages(int pixels) {
+        if (pixels == imagePixels) return;
+        imagePixels = pixels;
+        if (style == Style.DISCS) {
+            xImage = renderDisc(pixels, X_DISC_COLOR);
+            oImage = renderDisc(pixels, O_DISC_COLOR);
+            emptyImage = renderDisc(pixels, Color.WHITE);
+        } else {
+            xImage = renderMark(pixels, "X");
+            oImage = renderMark(pixels, "O");
+            emptyImage = null;
+        }
+    }
+
+    private static BufferedImage renderDisc(int pixels, Color color) {
+        BufferedImage image = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = createImageGraphics(image);
+        g.setColor(color);
+        g.fillOval(0, 0, pixels - 1, pixels - 1);
+        g.setColor(color.darker());
+        g.drawOval(0, 0, pixels - 1, pixels - 1);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage renderMark(int pixels, String mark) {
+        BufferedImage image = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = createImageGraphics(image);
+        g.setFont(new Font("Arial", Font.PLAIN, pixels));
+        g.setColor(Color.BLACK);
+        // Centre the letter's outline rather than its text box, which has room for accents and descenders
+        Rectangle bounds = g.getFont().createGlyphVector(g.getFontRenderContext(), mark).getPixelBounds(null, 0, 0);
+        g.drawString(mark, (pixels - bounds.width) / 2 - bounds.x, (pixels - bounds.height) / 2 - bounds.y);
+        g.dispose();
+        return image;
+    }
+
+    private static Graphics2D createImageGraphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        return g;
+    }
+}
@@ -0,0 +1,379 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class ConnectFourBoard extends Board {
+
+    // Board dimensions (6 rows x 7 columns)
+    public static final int ROWS = 6;
+    public static final int COLUMNS = 7;
+
+    // Each column uses 7 bits in the bitboards: 6 playable cells plus one empty sentinel bit on top.
+    // The sentinel keeps shifted pieces from wrapping into the next column during win detection.
+    // Bit index of a cell = col * 7 + rowFromBottom (rowFromBottom 0 is the bottom row).
+    private static final int COLUMN_BITS = ROWS + 1;
+
+    // Mask with the bottom cell of every column set, used to build the position key
+    private static final long BOTTOM_MASK = 0x40810204081L;
+
+    // Heuristic weights used by evaluateBoard. A "window" is any line of 4 cells where a four could be made.
+    public static final int WIN_SCORE = 1_000_000;   // Score of a won position (positive when "X" has won)
+    private static final int THREE_SCORE = 5;        // Window with three pieces of one player and one empty cell
+    private static final int TWO_SCORE = 2;          // Window with two pieces of one player and two empty cells
+    private static final int CENTER_SCORE = 3;       // Each piece in the centre column
+
+    // All 69 windows as lists of bit indexes, and for each bit index the windows that contain it
+    private static final int[][] WINDOWS;
+    private static final int[][] CELL_WINDOWS = new int[COLUMNS * COLUMN_BITS][];
+
+    // WINDOW_SCORES[xCount * 5 + oCount] is the heuristic value of a window with those piece counts
+    private static final int[] WINDOW_SCORES = new int[25];
+
+    static {
+        // Build the windows in each of the four directions (column step, row step)
+        int[][] directions = { { 1, 0 }, { 0, 1 }, { 1, 1 }, { 1, -1 } };
+        ArrayList<int[]> windows = new ArrayList<>();
+        for (int[] direction : directions) {
+            for (int col = 0; col < COLUMNS; col++) {
+                for (int row = 0; row < ROWS; row++) {
+                    int endCol = col + 3 * direction[0];
+                    int endRow = row + 3 * direction[1];
+                    if (endCol >= COLUMNS || endRow < 0 || endRow >= ROWS) continue;
+                    int[] window = new int[4];
+                    for (int i = 0; i < 4; i++) {
+                        window[i] = (col + i * direction[0]) * COLUMN_BITS + (row + i * direction[1]);
+                    }
+                    windows.add(window);
+                }
+            }
+        }
+        WINDOWS = windows.toArray(new int[0][]);
+
+        // Index the windows by the cells they contain
+        for (int bit = 0; bit < CELL_WINDOWS.length; bit++) {
+            ArrayList<Integer> containing = new ArrayList<>();
+            for (int w = 0; w < WINDOWS.length; w++) {
+                for (int cell : WINDOWS[w]) {
+                    if (cell == bit) containing.add(w);
+                }
+            }
+            CELL_WINDOWS[bit] = containing.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Only windows that one player could still complete are worth anything
+        for (int x = 0; x <= 4; x++) {
+            for (int o = 0; o <= 4; o++) {
+                int score = 0;
+                if (o == 0 && x == 3) score = THREE_SCORE;
+                else if (o == 0 && x == 2) score = TWO_SCORE;
+                else if (x == 0 && o == 3) score = -THREE_SCORE;
+                else if (x == 0 && o == 2) score = -TWO_SCORE;
+                WINDOW_SCORES[x * 5 + o] = score;
+            }
+        }
+    }
+
+    // Zobrist keys: one random number per player per bit index, XOR-ed into the hash as pieces are placed
+    // A fixed seed keeps hashes identical between runs.
+    private static final long[][] ZOBRIST_KEYS = new long[2][COLUMNS * COLUMN_BITS];
+
+    static {
+        Random random = new Random(0x434F4E4E454354L);
+        for (int player = 0; player < 2; player++) {
+            for (int bit = 0; bit < COLUMNS * COLUMN_BITS; bit++) {
+                ZOBRIST_KEYS[player][bit] = random.nextLong();
+            }
+        }
+    }
+
+    // Bitboards holding the pieces of each player
+    private long xBits;
+    private long oBits;
+
+    // Number of pieces currently stacked in each column
+    private int[] heights = new int[COLUMNS];
+
+    // Total number of pieces on the board (used for the draw check)
+    private int moveCount;
+
+    // Columns played so far, in order, so moves can be taken back with undoMove
+    private int[] moveHistory = new int[ROWS * COLUMNS];
+
+    // Zobrist hash of the current position, updated on every move and undo
+    private long hash;
+
+    // The same bitboards and hash for the position mirrored left to right (column c becomes column 6 - c).
+    // A position and its mirror image play the same, so the search and the opening book key both on the
+    // canonical form: whichever of the two has the smaller position key.
+    public static final int MIRROR = 1;  // The symmetry number of the left-right mirror
+    private long mirrorXBits;
+    private long mirrorOBits;
+    private long mirrorHash;
+
+    // Number of "X" and "O" pieces in each window, and the heuristic score they add up to.
+    // Only the windows through the changed cell are updated on each move and undo.
+    private byte[] windowXCounts = new byte[WINDOWS.length];
+    private byte[] windowOCounts = new byte[WINDOWS.length];
+    private int heuristicScore;
+
+    // Cached result: who has won (NO_WINNER, X_WINNER or O_WINNER) and after how many pieces the win
+    // appeared. Only the last move can create a win, so it is found while updating that move's windows.
+    private static final int NO_WINNER = 0;
+    private static final int X_WINNER = 1;
+    private static final int O_WINNER = 2;
+    private int winner = NO_WINNER;
+    private int winnerMoveCount;
+
+    // Default constructor
+    public ConnectFourBoard() {}
+
+    // Private constructor used to create a deep copy of the board (cloning it)
+    private ConnectFourBoard(ConnectFourBoard other) {
+        this.xBits = other.xBits;
+        this.oBits = other.oBits;
+        this.heights = other.heights.clone(); // Copy the column heights so the boards stay independent
+        this.moveCount = other.moveCount;
+        this.moveHistory = other.moveHistory.clone(); // Copy the history so the clone can undo its own moves
+        this.hash = other.hash;
+        this.mirrorXBits = other.mirrorXBits;
+        this.mirrorOBits = other.mirrorOBits;
+        this.mirrorHash = other.mirrorHash;
+        this.windowXCounts = other.windowXCounts.clone();
+        this.windowOCounts = other.windowOCounts.clone();
+        this.heuristicScore = other.heuristicScore;
+        this.winner = other.winner;
+        this.winnerMoveCount = other.winnerMoveCount;
+    }
+
+    // Method to return the current layout of the board (2D array)
+    // The layout is built from the bitboards on demand, so it should only be called by the UI.
+    public String[][] getBoardLayout() {
+        String[][] layout = new String[ROWS][COLUMNS];
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                long bit = 1L << (col * COLUMN_BITS + (ROWS - 1 - row)); // Row 0 is the top of the board
+                if ((xBits & bit) != 0) layout[row][col] = "X";
+                else if ((oBits & bit) != 0) layout[row][col] = "O";
+                else layout[row][col] = " ";
+            }
+        }
+        return layout;
+    }
+
+    // Method to create and return a clone (deep copy) of the current board
+    public Board cloneBoard() {
+        return new ConnectFourBoard(this);
+    }
+
+    // Method to write all available moves (columns with open spots) into the array and return how many there are
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        // Check each column from 0 to 6
+        for (int col = 0; col < COLUMNS; col++) {
+            // If the column is not full yet, add the column index to the array
+            if (heights[col] < ROWS) {
+                moves[count++] = col;
+            }
+        }
+        return count;
+    }
+
+    // Method to return the most moves a position can have (one per column)
+    public int getMaxMoves() {
+        return COLUMNS;
+    }
+
+    // Static move ordering for the search: columns closer to the centre are searched first
+    protected int staticMoveScore(int col) {
+        return COLUMNS / 2 - Math.abs(col - COLUMNS / 2);
+    }
+
+    // Method to convert a linear space index (0-41) into row and column coordinates
+    public int[] getSpotOnBoard(int space) {
+        int row = space / 7; // Row is determined by integer division of space by 7
+        int col = space % 7; // Column is the remainder of space divided by 7
+        return new int[] { row, col }; // Return the row and column as an array
+    }
+
+    // Method to place a player's piece (either "X" or "O") in a specified column
+    public boolean setSpace(int col, String player) {
+        return makeMove(col, player);
+    }
+
+    // Method to drop a piece in place, recording the column so the move can be undone
+    public boolean makeMove(int col, String player) {
+        if (col < 0 || col >= COLUMNS || heights[col] == ROWS) return false; // If no space is available, return false
+        int index = col * COLUMN_BITS + heights[col]; // Lowest free cell of the column
+        int mirrorIndex = (COLUMNS - 1 - col) * COLUMN_BITS + heights[col];
+        long bit = 1L << index;
+        boolean isX = player.equals("X");
+        if (isX) {
+            xBits |= bit;
+            mirrorXBits |= 1L << mirrorIndex;
+            hash ^= ZOBRIST_KEYS[0][index];
+            mirrorHash ^= ZOBRIST_KEYS[0][mirrorIndex];
+        } else {
+            oBits |= bit;
+            mirrorOBits |= 1L << mirrorIndex;
+            hash ^= ZOBRIST_KEYS[1][index];
+            mirrorHash ^= ZOBRIST_KEYS[1][mirrorIndex];
+        }
+        boolean madeFour = updateWindows(index, isX, 1);
+        heights[col]++;
+        moveHistory[moveCount++] = col; // Remember the column for undoMove
+        if (madeFour && winner == NO_WINNER) {
+            winner = isX ? X_WINNER : O_WINNER; // Cache the win until this move is undone
+            winnerMoveCount = moveCount;
+        }
+        return true; // Return true indicating the move was successful
+    }
+
+    // Method to take back the most recently dropped piece
+    public void undoMove() {
+        int col = moveHistory[--moveCount];
+        int index = col * COLUMN_BITS + --heights[col]; // Top piece of the column
+        int mirrorIndex = (COLUMNS - 1 - col) * COLUMN_BITS + heights[col];
+        long bit = 1L << index;
+        boolean isX = (xBits & bit) != 0;
+        hash ^= ZOBRIST_KEYS[isX ? 0 : 1][index];
+        mirrorHash ^= ZOBRIST_KEYS[isX ? 0 : 1][mirrorIndex];
+        updateWindows(index, isX, -1);
+        xBits &= ~bit; // Only one of the two boards has the bit set, so clearing both is safe
+        oBits &= ~bit;
+        mirrorXBits &= ~(1L << mirrorIndex);
+        mirrorOBits &= ~(1L << mirrorIndex);
+        if (moveCount < winnerMoveCount) winner = NO_WINNER; // The winning move was taken back
+    }
+
+    // Adds (change = 1) or removes (change = -1) a piece in the window counts of one player,
+    // keeping the heuristic score in step by re-scoring only the windows through that cell.
+    // Returns true if one of these windows now holds four pieces of the player, i.e. the move won.
+    private boolean updateWindows(int index, boolean isX, int change) {
+        byte[] counts = isX ? windowXCounts : windowOCounts;
+        if (index / COLUMN_BITS == COLUMNS / 2) heuristicScore += (isX ? CENTER_SCORE : -CENTER_SCORE) * change;
+        boolean madeFour = false;
+        for (int w : CELL_WINDOWS[index]) {
+            heuristicScore -= WINDOW_SCORES[windowXCounts[w] * 5 + windowOCounts[w]];
+            counts[w] += change;
+            heuristicScore += WINDOW_SCORES[windowXCounts[w] * 5 + windowOCounts[w]];
+            if (counts[w] == 4) madeFour = true;
+        }
+        return madeFour;
+    }
+
+    // Aspiration window for principal variation search: scores between iterations usually move by a
+    // two-piece window or less, and this width visited the fewest nodes on random midgame positions
+    protected int aspirationWindow() {
+        return TWO_SCORE;
+    }
+
+    // Method to return the number of pieces on the board
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // Method to return the number of pieces in a column
+    public int getColumnHeight(int col) {
+        return heights[col];
+    }
+
+    // Method to return the Zobrist hash of the current position
+    public long getHash() {
+        return hash;
+    }
+
+    // Method to return a key that identifies the position exactly (unlike the hash, two positions never share it).
+    // Adding the bottom row to the mask of all pieces sets one extra bit on top of each column, which
+    // records the column heights; adding the "X" pieces on top of that records who owns each piece.
+    // The key fits in 49 bits and is what the opening book is sorted by.
+    public long getPositionKey() {
+        return xBits + (xBits | oBits) + BOTTOM_MASK;
+    }
+
+    // Method to rebuild a position from its position key. In each column the key holds the "X" pieces
+    // below a marker bit one cell above the top piece. The pieces are dropped column by column, so the
+    // position is the same but the move history is not the order the moves were played in.
+    // Returns null if the key is not a position "X" and "O" could have reached by taking turns.
+    public static ConnectFourBoard fromPositionKey(long key) {
+        if (key >>> COLUMNS * COLUMN_BITS != 0) return null;
+        ConnectFourBoard board = new ConnectFourBoard();
+        int xCount = 0;
+        for (int col = 0; col < COLUMNS; col++) {
+            int bits = (int) (key >>> col * COLUMN_BITS) & ((1 << COLUMN_BITS) - 1);
+            if (bits == 0) return null;  // Every column has a marker
+            int height = 31 - Integer.numberOfLeadingZeros(bits);
+            for (int row = 0; row < height; row++) {
+                boolean isX = (bits >>> row & 1) != 0;
+                if (isX) xCount++;
+                board.makeMove(col, isX ? "X" : "O");
+            }
+        }
+        int oCount = board.moveCount - xCount;
+        return xCount == oCount || xCount == oCount + 1 ? board : null;  // "X" moves first
+    }
+
+    // Methods to return the bitboard of each player's pieces (bit index = col * 7 + rowFromBottom, as above)
+    public long getXBits() {
+        return xBits;
+    }
+
+    public long getOBits() {
+        return oBits;
+    }
+
+    // Method to return the position key of the mirror image of the position
+    public long getMirroredPositionKey() {
+        return mirrorXBits + (mirrorXBits | mirrorOBits) + BOTTOM_MASK;
+    }
+
+    // Method to return the key of the canonical form, the same for a position and its mirror image
+    public long getCanonicalPositionKey() {
+        return Math.min(getPositionKey(), getMirroredPositionKey());
+    }
+
+    // The canonical form is the mirror image when that has the smaller key (a symmetric position is its own)
+    public int getCanonicalSymmetry() {
+        return getMirroredPositionKey() < getPositionKey() ? MIRROR : 0;
+    }
+
+    public long getCanonicalHash() {
+        return getMirroredPositionKey() < getPositionKey() ? mirrorHash : hash;
+    }
+
+    // Mirroring is its own inverse: column c and column 6 - c swap places
+    public int toCanonicalMove(int col, int symmetry) {
+        return symmetry == MIRROR ? COLUMNS - 1 - col : col;
+    }
+
+    public int fromCanonicalMove(int col, int symmetry) {
+        return toCanonicalMove(col, symmetry);
+    }
+
+    // Method to check if a player has won by looking for four consecutive pieces
+    // The win is found when the piece is placed, so this only reads the cached result.
+    public boolean hasWon(String player) {
+        return winner == (player.equals("X") ? X_WINNER : O_WINNER);
+    }
+
+    // Method to check if every cell of the board is filled
+    public boolean isFull() {
+        return moveCount == ROWS * COLUMNS;
+    }
+
+    // Method to check if the game is over (either by a win or a draw)
+    public boolean gameIsOver() {
+        return winner != NO_WINNER || moveCount == ROWS * COLUMNS; // Game is over if either player has won or if the board is full
+    }
+
+    // Method to evaluate the board and return a score
+    // +WIN_SCORE for "X" win, -WIN_SCORE for "O" win, and 0 for a draw.
+    // An undecided game gets a heuristic score (positive favours "X"): open threes and twos in the
+    // 4-cell windows plus pieces in the centre column. It is kept up to date on every move, so this is O(1).
+    public int evaluateBoard() {
+        if (winner == X_WINNER) return WIN_SCORE; // If "X" wins, return WIN_SCORE
+        else if (winner == O_WINNER) return -WIN_SCORE; // If "O" wins, return -WIN_SCORE
+        else if (moveCount == ROWS * COLUMNS) return 0; // Return 0 for a draw
+        else return heuristicScore; // Heuristic score for an undecided game
+    }
+}
@@ -0,0 +1,494 @@
+package boardgames;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConnectFourGame {
+    // Declare class-level variables
+    private JFrame frame;                   // The main window for the game
+    private JPanel modePanel;               // Panel for selecting game mode (Player vs Player or Player vs AI)
+    private JButton playerButton;           // Button for starting Player vs Player game
+    private JButton aiButton;               // Button for starting Player vs AI game
+    private ConnectFourBoard board;         // Object that manages the game board logic
+    private BoardPanel boardPanel;          // Component that paints the board grid and takes the clicks
+    private String currentPlayer;           // The current player ("X" or "O")
+    private int xWins;                      // Counter for Player X wins
+    private int oWins;                      // Counter for Player O wins
+    private int draws;                      // Counter for number of draws
+    private JLabel scoreLabel;              // Label to display the score
+    private String gameMode;                // The selected game mode ("Player" or "AI")
+    private int aiDifficulty;               // Difficulty level for AI
+    private TranspositionTable transpositionTable; // Positions already searched by the AI, kept between moves
+    private Random random;                  // Picks between equally good AI moves (seed it with -Dai.seed=...)
+    private ParallelSearch parallelSearch;  // Splits the AI search across cores (null when using one thread)
+    private SwingWorker<SearchResult, Void> aiWorker; // Background task computing the AI's move (null when the AI is not thinking)
+    private AtomicBoolean aiCancelFlag;     // Set to cancel the AI search that is running
+    private JTextArea debugText;            // Statistics of the AI's last move (null unless -Dai.debug=true)
+    private OpeningBook openingBook;        // Precomputed moves for the first plies (null when there is no book file)
+    private boolean ponderEnabled;          // Whether the AI keeps searching during the player's turn (-Dai.ponder=false turns it off)
+    private Ponder ponder;                  // Search running during the player's turn (null when not pondering)
+    private boolean principalVariationSearch; // Search with PVS instead of plain alpha-beta (-Dai.search=pvs)
+    private ConnectFourSolver solver;       // Proves endgame results exactly (null when turned off with -Dai.solver.empty=0)
+    private int solverEmptyCells;           // The solver plays once this many cells or fewer are empty
+    private boolean monteCarlo;             // Whether the AI uses Monte Carlo tree search instead of minimax
+    private MonteCarloTreeSearch monteCarloSearch; // The Monte Carlo engine, which keeps its tree between moves (null until chosen)
+    private GameJournal journal;            // Where finished games are saved (null when -Dgame.journal= turns it off)
+    private GameJournal.Recording journalGame; // Moves of the game being played (null until its first move)
+
+    // Lowest AI difficulty that plays book moves; weaker levels search every move so they stay beatable
+    private static final int BOOK_MIN_DIFFICULTY = 6;
+
+    // Lowest AI difficulty that solves the endgame exactly; weaker levels keep making mistakes to the end
+    private static final int SOLVER_MIN_DIFFICULTY = 6;
+
+    // Constructor to initialize the game window
+    public ConnectFourGame(Point location) {
+        frame = new JFrame("Connect Four");            // Create the main game frame with title
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);  // Close the game when the window is closed
+        frame.setLayout(new BorderLayout());           // Use BorderLayout for layout management
+        frame.setLocation(location);                   // Set the location of the window (from passed Point)
+
+        // Create the AI's transposition table (size in MB can be changed with -Dai.tt.mb=...)
+        transpositionTable = new TranspositionTable(Integer.getInteger("ai.tt.mb", TranspositionTable.DEFAULT_SIZE_MB));
+        Long seed = Long.getLong("ai.seed");
+        random = seed != null ? new Random(seed) : new Random();
+
+        // Search on every core unless a thread count is given with -Dai.threads=...
+        int threads = Integer.getInteger("ai.threads", Runtime.getRuntime().availableProcessors());
+        if (threads > 1) parallelSearch = new ParallelSearch(threads);
+        ponderEnabled = Boolean.parseBoolean(System.getProperty("ai.ponder", "true"));
+        principalVariationSearch = System.getProperty("ai.search", "alphabeta").equals("pvs");
+
+        // Solve the endgame exactly below -Dai.solver.empty=N empty cells, with its own -Dai.solver.mb=N table
+        solverEmptyCells = Integer.getInteger("ai.solver.empty", ConnectFourSolver.DEFAULT_EMPTY_CELLS);
+        if (solverEmptyCells > 0) {
+            solver = new ConnectFourSolver(Integer.getInteger("ai.solver.mb", ConnectFourSolver.DEFAULT_SIZE_MB));
+        }
+
+        // Save every game to the journal (path can be changed with -Dgame.journal=...)
+        journal = GameJournal.getDefault();
+
+        // Map the opening book if one has been generated (path can be changed with -Dai.book=...)
+        Path bookPath = Paths.get(System.getProperty("ai.book", OpeningBook.DEFAULT_FILE));
+        if (Files.isRegularFile(bookPath)) {
+            try {
+                openingBook = OpeningBook.open(bookPath);
+            } catch (IOException e) {
+                e.printStackTrace();  // Play without the book
+            }
+        }
+
+        // Panel to select the game mode
+        modePanel = new JPanel(new GridLayout(1, 2));
+        playerButton = new JButton("Player vs Player");    // Button to start Player vs Player game
+        aiButton = new JButton("Player vs AI");            // Button to start Player vs AI game
+
+        // Add ActionListener for Player vs Player button
+        playerButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameMode = "Player";                     // Set game mode to "Player"
+                initializeGame();                        // Start the game
+            }
+        });
+
+        // Add ActionListener for Player vs AI button
+        aiButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameMode = "AI";                        // Set game mode to "AI"
+                promptAIEngine();                        // Ask the user to choose the AI engine and difficulty
+            }
+        });
+
+        // Add buttons to the mode selection panel
+        modePanel.add(playerButton);
+        modePanel.add(aiButton);
+
+        // Add the mode selection panel to the frame and display the window
+        frame.add(modePanel, BorderLayout.CENTER);
+        frame.setSize(400, 200);                           // Set the initial size of the frame
+        frame.setVisible(true);
+    }
+
+    // Ask which engine the AI uses: minimax (alpha-beta search) or Monte Carlo tree search
+    private void promptAIEngine() {
+        String[] engines = { "Minimax", "Monte Carlo" };
+        int choice = JOptionPane.showOptionDialog(frame, "Choose the AI engine:", "AI Engine",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, engines, engines[0]);
+        if (choice == JOptionPane.CLOSED_OPTION) {
+            resetToMenu();  // User closed the dialog, return to the main menu
+            return;
+        }
+        monteCarlo = choice == 1;
+        // The engine owns a thread pool, so it is only created once it is chosen
+        if (monteCarlo && monteCarloSearch == null) {
+            monteCarloSearch = new MonteCarloTreeSearch(Integer.getInteger("ai.threads", Runtime.getRuntime().availableProcessors()));
+        }
+        promptAIDifficulty();
+    }
+
+    // Prompt the user to choose AI difficulty (between 1 and 10)
+    private void promptAIDifficulty() {
+        String input = JOptionPane.showInputDialog(frame, "Enter AI difficulty (1-10):");
+        if (input == null) {
+            // User pressed cancel, return to the main menu
+            resetToMenu();
+            return;
+        }
+        try {
+            aiDifficulty = Integer.parseInt(input);         // Convert input to integer
+            if (aiDifficulty < 1 || aiDifficulty > 10) {    // Validate the difficulty
+                JOptionPane.showMessageDialog(frame, "Please enter a number between 1 and 10.");
+                promptAIDifficulty();                      // Prompt again if invalid
+            } else {
+                initializeGame();                          // Start the game with the selected difficulty
+            }
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(frame, "Invalid input. Please enter a number between 1 and 10.");
+            promptAIDifficulty();                          // Prompt again if the input is not a valid number
+        }
+    }
+
+    // Initialize the game after the mode has been selected
+    private void initializeGame() {
+        board = new ConnectFourBoard();                  // Initialize the game board
+        board.setTranspositionTable(transpositionTable); // Share the AI's transposition table with the new board
+        board.setRandom(random);
+        board.setPrincipalVariationSearch(principalVariationSearch);
+        currentPlayer = "X";                             // Player X starts the game
+
+        // Create the main game window by clearing previous components
+        frame.getContentPane().removeAll();
+        frame.setLayout(new BorderLayout());
+
+        // Create a label to display the current score (wins and draws)
+        scoreLabel = new JLabel("X Wins: " + xWins + "   O Wins: " + oWins + "   Draws: " + draws, JLabel.CENTER);
+        scoreLabel.setFont(new Font("Arial", Font.PLAIN, 20));
+
+        // Add score label to the top of the frame
+        frame.add(scoreLabel, BorderLayout.NORTH);
+
+        // Create the Connect Four grid: 6 rows, 7 columns, drawn as discs
+        boardPanel = new BoardPanel(ConnectFourBoard.ROWS, ConnectFourBoard.COLUMNS, BoardPanel.Style.DISCS);
+        // Handle clicks (user's moves); a click anywhere in a column drops a piece in it
+        boardPanel.setCellListener(new BoardPanel.CellListener() {
+            @Override
+            public void cellClicked(int row, int col) {
+                if (aiWorker != null) return;                 // Ignore clicks while the AI is thinking
+                if (gameMode.equals("Player")) {
+                    handlePlayerMove(col);                    // Handle player move in PvP mode
+                } else if (gameMode.equals("AI")) {
+                    handlePlayerMove(col);                    // Handle player move in PvAI mode
+                    if (currentPlayer.equals("O")) {
+                        handleAIMove(col);                     // AI makes its move after a valid player move
+                    }
+                }
+            }
+        });
+
+        // Add the game grid panel to the frame
+        frame.add(boardPanel, BorderLayout.CENTER);
+
+        // Resize the frame to make it suitable for the game grid
+        frame.setSize(700, 600);  // Increase window size to accommodate the grid
+        frame.setVisible(true);
+
+        // Add a button to return to the main menu
+        JButton backToMenuButton = new JButton("Back to Main Menu");
+        backToMenuButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                resetToMenu();  // Go back to the main menu when clicked
+            }
+        });
+        // With -Dai.debug=true, show the statistics of the AI's last move in a strip above the button
+        if (Boolean.getBoolean("ai.debug")) {
+            debugText = new JTextArea("The AI's search statistics appear here after its move.");
+            debugText.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            debugText.setEditable(false);
+            debugText.setLineWrap(true);       // Wrap long lines to the window's width
+            debugText.setWrapStyleWord(true);
+            JPanel southPanel = new JPanel(new BorderLayout());
+            southPanel.add(debugText, BorderLayout.NORTH);
+            southPanel.add(backToMenuButton, BorderLayout.SOUTH);
+            frame.add(southPanel, BorderLayout.SOUTH);
+        } else {
+            frame.add(backToMenuButton, BorderLayout.SOUTH);
+        }
+    }
+
+    // Reset the game and show the main menu again
+    private void resetToMenu() {
+        cancelAIMove();  // Stop any AI search that is still running
+        stopPondering();
+        finishJournalGame();  // Save the game that was left, if any
+        // Clear game components and show the mode selection panel again
+        frame.getContentPane().removeAll();
+        frame.setLayout(new BorderLayout());
+
+        // Reset the scores and game state
+        xWins = 0;
+        oWins = 0;
+        draws = 0;
+
+        // Create the mode selection panel again
+        JPanel modePanel = new JPanel(new GridLayout(1, 2));
+        JButton playerButton = new JButton("Player vs Player");
+        JButton aiButton = new JButton("Player vs AI");
+
+        // Action listeners for the buttons
+        playerButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameMode = "Player";          // Set mode to Player vs Player
+                initializeGame();             // Start the game
+            }
+        });
+
+        aiButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameMode = "AI";             // Set mode to Player vs AI
+                promptAIEngine();             // Ask for the AI engine and difficulty level
+            }
+        });
+
+        modePanel.add(playerButton);
+        modePanel.add(aiButton);
+
+        frame.add(modePanel, BorderLayout.CENTER);
+        frame.setSize(400, 200);  // Set size for the main menu window
+        frame.setVisible(true);
+
+        // Stop the AI's worker threads, since this game window is going away
+        if (parallelSearch != null) parallelSearch.shutdown();
+        if (monteCarloSearch != null) monteCarloSearch.shutdown();
+
+        // Dispose of the current window and show the GameMenu screen again
+        frame.dispose();
+        new GameMenu(frame.getLocation());
+    }
+
+    // Handle player's move in both modes
+    private void handlePlayerMove(int col) {
+        if (board.setSpace(col, currentPlayer)) {    // Try to place the player's move
+            recordMove(col);
+            showMove(col, currentPlayer);            // Paint the new piece
+            if (board.hasWon(currentPlayer)) {       // Check if the player has won
+                JOptionPane.showMessageDialog(frame, "Player " + currentPlayer + " wins!");
+                updateScore(currentPlayer);         // Update the score for the winner
+                resetGame();                        // Reset the game
+            } else if (board.gameIsOver()) {         // Check if the game is a draw
+                JOptionPane.showMessageDialog(frame, "It's a draw!");
+                draws++;                             // Increment draw counter
+                updateScoreDisplay();               // Update the score display
+                resetGame();                        // Reset the game
+            } else {
+                // Switch to the other player
+                currentPlayer = currentPlayer.equals("X") ? "O" : "X";
+            }
+        }
+    }
+
+    // Handle AI's move in Player vs AI mode, after the player dropped a piece in playerColumn
+    // The search runs on a background thread so the window keeps repainting; the move is applied on the
+    // event dispatch thread when it is ready. Clicks are ignored until then.
+    private void handleAIMove(int playerColumn) {
+        // If the AI was pondering the column the player chose, its answer may already be ready
+        SearchResult ponderAnswer = ponder != null ? ponder.stopAndGetAnswer(playerColumn) : null;
+        ponder = null;
+
+        // Play straight from the opening book when the position is in it
+        if (!monteCarlo && openingBook != null && aiDifficulty >= BOOK_MIN_DIFFICULTY) {
+            int record = openingBook.find(board.getCanonicalPositionKey());
+            if (record != -1) {
+                int bookMove = board.fromCanonicalMove(openingBook.moveAt(record), board.getCanonicalSymmetry());
+                showSearchStats(new SearchResult(openingBook.scoreAt(record), bookMove, openingBook.getSearchDepth()), "opening book");
+                applyAIMove(bookMove);
+                return;
+            }
+        }
+
+        // Play the pondered answer when the search already used the whole budget during the player's turn
+        if (ponderAnswer != null) {
+            showSearchStats(ponderAnswer, "pondered");
+            applyAIMove(ponderAnswer.getMove());
+            return;
+        }
+
+        // Search a copy of the board so the UI's board is never touched by the background thread
+        Board searchBoard = board.cloneForSearch();
+        int emptyCells = ConnectFourBoard.ROWS * ConnectFourBoard.COLUMNS - board.getMoveCount();
+        AtomicBoolean cancelFlag = new AtomicBoolean();
+        searchBoard.setCancelFlag(cancelFlag);
+        aiCancelFlag = cancelFlag;
+
+        boolean useSolver = solverPlays(emptyCells);
+
+        aiWorker = new SwingWorker<SearchResult, Void>() {
+            private volatile String source;  // Shown with the statistics when the move did not come from the minimax search
+
+            @Override
+            protected SearchResult doInBackground() {
+                // The Monte Carlo engine plays every move itself, within the difficulty's playout budget
+                if (monteCarlo) {
+                    source = "Monte Carlo";
+                    return monteCarloSearch.searchForDifficulty(searchBoard, false, aiDifficulty, cancelFlag);
+                }
+                // Near the end of the game, prove the result instead of searching to a depth limit. The solver
+                // gives up (null) past its node limit. In a lost position every move loses, so the search picks
+                // the one its heuristic likes best, which usually makes the player work hardest for the win.
+                if (useSolver) {
+                    SearchResult solved = solver.solve((ConnectFourBoard) searchBoard, ConnectFourSolver.DEFAULT_NODE_LIMIT, cancelFlag);
+                    if (solved != null && solved.getScore() != ConnectFourBoard.WIN_SCORE) {
+                        source = "solved";
+                        return solved;
+                    }
+                }
+                // Use iterative deepening minimax within the difficulty's budget to calculate the best move for the AI
+                return IterativeDeepening.searchForDifficulty(searchBoard, false, aiDifficulty, emptyCells, parallelSearch);
+            }
+
+            @Override
+            protected void done() {
+                if (aiWorker != this || isCancelled()) return; // The game was reset or left while the AI was thinking
+                aiWorker = null;
+                try {
+                    SearchResult result = get();
+                    showSearchStats(result, source);
+                    applyAIMove(result.getMove());
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();  // The search failed; give the turn back to the player
+                    currentPlayer = "X";
+                }
+            }
+        };
+        aiWorker.execute();
+    }
+
+    // Play the move chosen by the AI and check whether the game has ended
+    private void applyAIMove(int bestMovePosition) {
+        if (bestMovePosition != -1) {
+            board.setSpace(bestMovePosition, "O"); // Make the AI move
+            recordMove(bestMovePosition);
+            showMove(bestMovePosition, "O");       // Paint the new piece
+            if (board.hasWon("O")) {               // Check if the AI has won
+                JOptionPane.showMessageDialog(frame, "AI wins!");
+                updateScore("O");                  // Update the score for AI
+                resetGame();                       // Reset the game
+            } else if (board.gameIsOver()) {       // Check if the game is a draw
+                JOptionPane.showMessageDialog(frame, "It's a draw!");
+                draws++;                            // Increment draw counter
+                updateScoreDisplay();              // Update the score display
+                resetGame();                       // Reset the game
+            } else {
+                currentPlayer = "X";  // Switch back to player X
+                startPondering();     // Think about the AI's next move while the player decides
+            }
+        }
+    }
+
+    // Start searching the AI's answer to the player's most likely move in the background
+    private void startPondering() {
+        int emptyCells = ConnectFourBoard.ROWS * ConnectFourBoard.COLUMNS - board.getMoveCount();
+        // Nothing to gain once the solver answers the player's move (it takes milliseconds), and the
+        // Monte Carlo engine keeps its own tree between moves instead
+        if (!ponderEnabled || monteCarlo || solverPlays(emptyCells - 1)) return;
+        ponder = new Ponder(board, true, IterativeDeepening.nodeBudgetForDifficulty(aiDifficulty), emptyCells);
+    }
+
+    // Whether the AI's move with this many empty cells is left to the endgame solver
+    private boolean solverPlays(int emptyCells) {
+        return !monteCarlo && solver != null && emptyCells <= solverEmptyCells && aiDifficulty >= SOLVER_MIN_DIFFICULTY;
+    }
+
+    // Stop pondering, e.g. when the game is reset; the result is thrown away
+    private void stopPondering() {
+        if (ponder != null) {
+            ponder.stop();
+            ponder = null;
+        }
+    }
+
+    // Log the AI's move with its search statistics and show them in the debug strip (only with -Dai.debug=true).
+    // source says where the move came from when it was not the minimax search after the player's move (or is null).
+    private void showSearchStats(SearchResult result, String source) {
+        if (debugText == null) return;
+        String text = "AI move " + result.getMove() + ", score " + result.getScore() + ", depth " + result.getDepth()
+                + (source != null ? " (" + source + ")" : "")
+                + (result.getPrincipalVariation() != null ? ", PV " + result.getPrincipalVariationText() : "")
+                + (result.getStats() != null ? ": " + result.getStats() : "");
+        System.out.println(text);
+        debugText.setText(text);
+    }
+
+    // Cancel the AI's search if it is running; its result will be ignored
+    private void cancelAIMove() {
+        if (aiWorker != null) {
+            aiCancelFlag.set(true);  // Makes the search unwind quickly
+            aiWorker.cancel(false);
+            aiWorker = null;
+        }
+    }
+
+    // Paint the piece just dropped in a column: it is the top one, and only its cell is repainted
+    private void showMove(int col, String player) {
+        int row = ConnectFourBoard.ROWS - board.getColumnHeight(col);  // Row 0 is the top of the board
+        boardPanel.setCell(row, col, player);
+    }
+
+    // Reset the game board and start over
+    private void resetGame() {
+        cancelAIMove();                  // Stop any AI search for the old board
+        stopPondering();
+        finishJournalGame();             // Save the old game with its result
+        board = new ConnectFourBoard();  // Create a new board
+        board.setTranspositionTable(transpositionTable);
+        board.setRandom(random);
+        board.setPrincipalVariationSearch(principalVariationSearch);
+        currentPlayer = "X";             // Reset to player X
+
+        boardPanel.clear();              // Clear the board UI
+    }
+
+    // Add a move to the journal, starting the game's recording with its first move
+    private void recordMove(int move) {
+        if (journal == null) return;
+        if (journalGame == null) journalGame = journal.startGame(GameJournal.CONNECT_FOUR);
+        journalGame.addMove(move);
+    }
+
+    // Save the game to the journal with its result (unfinished if it was left before the end)
+    private void finishJournalGame() {
+        if (journalGame != null) {
+            journalGame.finish(GameJournal.resultOf(board));
+            journalGame = null;
+        }
+    }
+
+    // Update the score based on the winner
+    private void updateScore(String winner) {
+        if (winner.equals("X")) {
+            xWins++;  // Increment X wins if X wins
+        } else if (winner.equals("O")) {
+            oWins++;  // Increment O wins if O wins
+        }
+        updateScoreDisplay();  // Update the displayed score
+    }
+
+    // Update the displayed score
+    private void updateScoreDisplay() {
+        scoreLabel.setText("X Wins: " + xWins + "   O Wins: " + oWins + "   Draws: " + draws);
+    }
+}
@@ -0,0 +1,379 @@
+package boardgames;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// An append-only binary journal of the games played in the game windows, so they survive closing the
+// window (and the score counters, which reset with the menu, can be rebuilt from it).
+//
+// File layout (big-endian):
+//   header:  int magic ("GJNL"), int version
+//   records: one per game, 7 bytes plus one byte per move:
+//            byte game type, byte result, int start time (seconds since 1970), byte move count, moves
+// A move is the column (Connect Four, 0-6) or the space (Tic Tac Toe, 1-9); "X" always moves first.
+//
+// Each game window records its moves in a Recording and the whole game is appended when it ends or is
+// left, so games from two windows never interleave and a crash cannot leave half a record. Appending
+// only copies the record into a memory buffer; a background thread writes the buffer to the file in
+// batches, so the event dispatch thread never waits for the disk. The journal is flushed when the
+// program exits, with games still in progress recorded as unfinished.
+//
+// The price of whole-game records: a game left for the menu or open when the program exits is saved
+// (as UNFINISHED), but if the process is killed or crashes, the games in progress are lost entirely,
+// along with games finished in the last second that the writer had not written yet.
+//
+// Running "java boardgames.GameJournal [file]" prints a summary of a journal (see main).
+public class GameJournal implements Closeable {
+
+    // Default file name, in the working directory (another path can be given with -Dgame.journal=...,
+    // and -Dgame.journal= with no path turns the journal off)
+    public static final String DEFAULT_FILE = "games.journal";
+
+    // Game types
+    public static final int CONNECT_FOUR = 1;
+    public static final int TIC_TAC_TOE = 2;
+
+    // Results
+    public static final int UNFINISHED = 0;
+    public static final int X_WON = 1;
+    public static final int O_WON = 2;
+    public static final int DRAW = 3;
+
+    private static final int MAGIC = 0x474A4E4C;  // "GJNL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 7;
+
+    // The writer thread wakes up when this many bytes are waiting, and at least once per interval
+    private static final int BATCH_BYTES = 4096;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    private static GameJournal defaultJournal;
+    private static boolean defaultOpened;
+
+    private final FileChannel channel;
+    private final Thread writer;
+
+    // Records appended since the last write; swapped with the writer's buffer under the lock
+    private ByteBuffer pending = ByteBuffer.allocate(BATCH_BYTES * 2);
+    private ByteBuffer writing = ByteBuffer.allocate(BATCH_BYTES * 2);
+    private final List<Recording> inProgress = new ArrayList<>();  // Recorded as unfinished by close()
+    private boolean closed;
+
+    // The moves of one game, collected by a game window until the game ends
+    public class Recording {
+        private final int gameType;
+        private final int startSeconds = (int) (System.currentTimeMillis() / 1000);
+        private byte[] moves = new byte[16];
+        private int moveCount;
+        private boolean finished;
+
+        private Recording(int gameType) {
+            this.gameType = gameType;
+        }
+
+        public void addMove(int move) {
+            synchronized (GameJournal.this) {
+                if (finished) return;
+                if (moveCount == moves.length) moves = Arrays.copyOf(moves, moveCount * 2);
+                moves[moveCount++] = (byte) move;
+            }
+        }
+
+        // Appends the game to the journal with its result. Later calls do nothing, and a game without
+        // moves is not recorded.
+        public void finish(int result) {
+            synchronized (GameJournal.this) {
+                if (finished) return;
+                finished = true;
+                inProgress.remove(this);
+                if (moveCount > 0) append(this, result);
+            }
+        }
+    }
+
+    // Opens a journal for appending, creating the file if it does not exist
+    public static GameJournal open(Path path) throws IOException {
+        return new GameJournal(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    // Returns the journal shared by all game windows, opened the first time it is needed (null if it is
+    // turned off or cannot be opened)
+    public static synchronized GameJournal getDefault() {
+        if (!defaultOpened) {
+            defaultOpened = true;
+            String file = System.getProperty("game.journal", DEFAULT_FILE);
+            if (!file.isEmpty()) {
+                try {
+                    defaultJournal = open(Paths.get(file));
+                } catch (IOException e) {
+                    e.printStackTrace();  // Play without the journal
+                }
+            }
+        }
+        return defaultJournal;
+    }
+
+    private GameJournal(FileChannel channel) throws IOException {
+        this.channel = channel;
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+        } else {
+            checkHeader(channel);
+        }
+        writer = new Thread(this::writeBatches, "journal writer");
+        writer.setDaemon(true);  // Never keeps the program running; close() in the shutdown hook writes what is left
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "journal close"));
+    }
+
+    // Starts recording a game of the given type
+    public synchronized Recording startGame(int gameType) {
+        Recording recording = new Recording(gameType);
+        if (!closed) inProgress.add(recording);
+        return recording;
+    }
+
+    // The result of a board's game: who won, a draw, or UNFINISHED if it is not over
+    public static int resultOf(Board board) {
+        if (board.hasWon("X")) return X_WON;
+        if (board.hasWon("O")) return O_WON;
+        return board.gameIsOver() ? DRAW : UNFINISHED;
+    }
+
+    // Copies a finished game into the pending buffer (growing it rather than waiting for the writer)
+    private void append(Recording recording, int result) {
+        if (closed) return;
+        int size = RECORD_HEADER_BYTES + recording.moveCount;
+        if (pending.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        pending.put((byte) recording.gameType).put((byte) result).putInt(recording.startSeconds)
+                .put((byte) recording.moveCount).put(recording.moves, 0, recording.moveCount);
+        if (pending.position() >= BATCH_BYTES) notifyAll();
+    }
+
+    // Runs on the writer thread: waits for a batch, swaps the buffers and writes outside the lock
+    private void writeBatches() {
+        while (true) {
+            ByteBuffer batch;
+            synchronized (this) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        wait(FLUSH_INTERVAL_MS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) return;  // close() writes whatever is left
+                batch = pending;
+                pending = writing;
+                writing = batch;
+            }
+            try {
+                write(batch);
+            } catch (IOException e) {
+                e.printStackTrace();  // The batch is lost; later games are still attempted
+            }
+        }
+    }
+
+    private void write(ByteBuffer batch) throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) channel.write(batch);
+        batch.clear();
+    }
+
+    // Records the games still in progress as unfinished, writes everything and closes the file.
+    // It runs at exit from a shutdown hook; calling it again does nothing.
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            for (Recording recording : new ArrayList<>(inProgress)) recording.finish(UNFINISHED);
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();  // Let a batch being written finish first
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            synchronized (this) {
+                write(pending);
+            }
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {}
+        if (header.position() < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a game journal (version " + VERSION + ")");
+        }
+    }
+
+    // Creates an empty board for a game type
+    public static Board newBoard(int gameType) {
+        switch (gameType) {
+            case CONNECT_FOUR: return new ConnectFourBoard();
+            case TIC_TAC_TOE: return new TicTacToeBoard();
+            default: throw new IllegalArgumentException("Unknown game type: " + gameType);
+        }
+    }
+
+    // Streams the games of a journal one at a time through a fixed-size buffer, so a journal of any size
+    // can be read with constant memory. The current game's data is only valid until the next call to next().
+    //   try (GameJournal.Reader reader = GameJournal.Reader.open(path)) {
+    //       while (reader.next()) { Board board = reader.replay(); ... }
+    //   }
+    public static class Reader implements Closeable {
+        private static final int BUFFER_BYTES = 64 * 1024;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final byte[] moves = new byte[255];
+        private int gameType;
+        private int result;
+        private long startSeconds;
+        private int moveCount;
+
+        private Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            checkHeader(channel);
+            channel.position(HEADER_BYTES);
+            buffer.flip();  // Empty until the first fill
+        }
+
+        public static Reader open(Path path) throws IOException {
+            return new Reader(FileChannel.open(path, StandardOpenOption.READ));
+        }
+
+        // Reads the next game. Returns false at the end of the journal; a record cut short at the end
+        // (the program was killed while writing) is ignored. Throws IOException if the record's game type or
+        // result is not a known value, which means the file is damaged.
+        public boolean next() throws IOException {
+            if (!fill(RECORD_HEADER_BYTES)) return false;
+            gameType = buffer.get();
+            result = buffer.get();
+            if (gameType != CONNECT_FOUR && gameType != TIC_TAC_TOE) throw new IOException("Unknown game type " + gameType + " in journal");
+            if (result < UNFINISHED || result > DRAW) throw new IOException("Unknown result " + result + " in journal");
+            startSeconds = buffer.getInt() & 0xFFFFFFFFL;
+            moveCount = buffer.get() & 0xFF;
+            if (!fill(moveCount)) return false;
+            buffer.get(moves, 0, moveCount);
+            return true;
+        }
+
+        // Makes sure the buffer holds at least the given number of unread bytes.
+        // Returns false if the file ends first (with nothing left, or with a partial record).
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return true;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    buffer.flip();
+                    return false;
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+
+        public int getGameType() { return gameType; }
+        public int getResult() { return result; }
+        public long getStartSeconds() { return startSeconds; }
+        public int getMoveCount() { return moveCount; }
+
+        public int getMove(int index) {
+            if (index < 0 || index >= moveCount) throw new IndexOutOfBoundsException("Move " + index + " of " + moveCount);
+            return moves[index];
+        }
+
+        // Replays the first plies of the current game on a new board
+        public Board replay(int plies) throws IOException {
+            Board board = newBoard(gameType);
+            for (int i = 0; i < Math.min(plies, moveCount); i++) {
+                if (!board.makeMove(moves[i], i % 2 == 0 ? "X" : "O")) throw new IOException("Illegal move " + moves[i] + " in journal");
+            }
+            return board;
+        }
+
+        // Replays the whole current game and returns the final position
+        public Board replay() throws IOException {
+            return replay(moveCount);
+        }
+
+        // The current game's moves as a string, e.g. "3 3 4 2" (the format the batch analyzer reads)
+        public String getMovesText() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < moveCount; i++) {
+                if (i > 0) text.append(' ');
+                text.append(moves[i]);
+            }
+            return text.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Prints the number of games, results and average length of each game type in a journal, and how
+    // fast it was read and replayed. With --moves it prints every game's moves instead, one game per line.
+    // Usage: java boardgames.GameJournal [--moves] [file, default games.journal]
+    public static void main(String[] args) throws IOException {
+        boolean printMoves = args.length > 0 && args[0].equals("--moves");
+        Path path = Paths.get(args.length > (printMoves ? 1 : 0) ? args[printMoves ? 1 : 0] : DEFAULT_FILE);
+
+        long start = System.nanoTime();
+        long[][] results = new long[3][4];  // [game type][result]
+        long[] moves = new long[3];
+        try (Reader reader = Reader.open(path)) {
+            while (reader.next()) {
+                if (printMoves) {
+                    System.out.println(reader.getMovesText());
+                    continue;
+                }
+                Board board = reader.replay();  // Checks that every move is legal
+                if (resultOf(board) != reader.getResult() && reader.getResult() != UNFINISHED) {
+                    System.out.println("Recorded result does not match the replayed game: " + reader.getMovesText());
+                }
+                results[reader.getGameType()][reader.getResult()]++;
+                moves[reader.getGameType()] += reader.getMoveCount();
+            }
+        }
+        if (printMoves) return;
+
+        String[] names = { "", "Connect Four", "Tic Tac Toe" };
+        long games = 0;
+        for (int type = CONNECT_FOUR; type <= TIC_TAC_TOE; type++) {
+            long count = results[type][0] + results[type][1] + results[type][2] + results[type][3];
+            games += count;
+            if (count == 0) continue;
+            System.out.printf("%s: %,d games, X won %,d, O won %,d, draws %,d, unfinished %,d, %.1f moves per game%n",
+                    names[type], count, results[type][X_WON], results[type][O_WON], results[type][DRAW], results[type][UNFINISHED],
+                    (double) moves[type] / count);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Read and replayed %,d games in %.2f s (%,.0f games/s)%n", games, seconds, games / seconds);
+    }
+}
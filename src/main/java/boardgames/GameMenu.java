@@ -1,3 +1,5 @@
+package boardgames;
+
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -20,12 +22,13 @@ public class GameMenu {
         // Set the location of the window based on the passed Point object.
         frame.setLocation(location);
 
-        // Create a JPanel to hold the buttons for the two games with a GridLayout of 1 row and 2 columns.
-        JPanel menuPanel = new JPanel(new GridLayout(1, 2));
+        // Create a JPanel to hold the buttons for the three games with a GridLayout of 1 row and 3 columns.
+        JPanel menuPanel = new JPanel(new GridLayout(1, 3));
         
-        // Create buttons for Tic Tac Toe and Connect Four games.
+        // Create buttons for Tic Tac Toe, Connect Four and Gomoku games.
         JButton ticTacToeButton = new JButton("Tic Tac Toe");
         JButton connectFourButton = new JButton("Connect Four");
+        JButton gomokuButton = new JButton("Gomoku (m,n,k)");
 
         // Add an action listener to the Tic Tac Toe button. When clicked, it launches the Tic Tac Toe game.
         ticTacToeButton.addActionListener(new ActionListener() {
@@ -57,15 +60,31 @@ public class GameMenu {
             }
         });
 
-        // Add the Tic Tac Toe and Connect Four buttons to the panel.
+        // Add an action listener to the Gomoku button. When clicked, it launches the m,n,k game.
+        gomokuButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // Get the current location of the menu window.
+                Point location = frame.getLocation();
+                
+                // Close the game menu window.
+                frame.dispose();
+                
+                // Launch the m,n,k game, passing the same location as the menu window.
+                new MNKGame(location);
+            }
+        });
+
+        // Add the game buttons to the panel.
         menuPanel.add(ticTacToeButton);
         menuPanel.add(connectFourButton);
+        menuPanel.add(gomokuButton);
 
         // Add the menu panel to the center of the frame.
         frame.add(menuPanel, BorderLayout.CENTER);
 
-        // Set the size of the menu window to 400x200 pixels.
-        frame.setSize(400, 200);
+        // Set the size of the menu window to 500x200 pixels.
+        frame.setSize(500, 200);
         
         // Make the frame visible so the user can interact with it.
         frame.setVisible(true);
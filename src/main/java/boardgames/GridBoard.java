@@ -0,0 +1,115 @@
+package boardgames;
+
+// The part of Tic Tac Toe that every m,n,k game shares: "X" and "O" take turns placing marks on the empty
+// spaces of a rows x columns grid, numbered 1 to rows * columns row by row, and the game ends when a mark
+// completes a line or the grid is full. This class keeps the move history and the cached winner; the
+// subclasses store the marks and say whether a new mark completed a line (TicTacToeBoard with 9-bit masks
+// and a lookup table, MNKBoard with counts of the marks in every line of k cells).
+public abstract class GridBoard extends Board {
+
+    // Who has won (NO_WINNER, X_WINNER or O_WINNER)
+    protected static final int NO_WINNER = 0;
+    protected static final int X_WINNER = 1;
+    protected static final int O_WINNER = 2;
+
+    private final int rows;
+    private final int columns;
+
+    // Spaces played so far, in order, so moves can be taken back with undoMove
+    private int[] moveHistory;
+    private int moveCount;
+
+    // Cached result and after how many marks the win appeared. Only the player who just moved can have
+    // completed a line, so makeMove only asks about that player's mark.
+    private int winner = NO_WINNER;
+    private int winnerMoveCount;
+
+    protected GridBoard(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.moveHistory = new int[rows * columns];
+    }
+
+    // Copies the history and the result of another board (for the subclasses' copy constructors)
+    protected GridBoard(GridBoard other) {
+        this.rows = other.rows;
+        this.columns = other.columns;
+        this.moveHistory = other.moveHistory.clone();  // Copy the history so the clone can undo its own moves
+        this.moveCount = other.moveCount;
+        this.winner = other.winner;
+        this.winnerMoveCount = other.winnerMoveCount;
+    }
+
+    // Returns true if the cell (space - 1) is empty
+    protected abstract boolean isEmpty(int cell);
+
+    // Puts a mark on an empty cell and returns true if it completes a line for its player
+    protected abstract boolean placeMark(int cell, boolean isX);
+
+    // Takes the mark off a cell
+    protected abstract void removeMark(int cell);
+
+    public int getRows() { return rows; }
+    public int getColumns() { return columns; }
+
+    // Converts a 1-indexed space into a row and column
+    public int[] getSpotOnBoard(int space) {
+        return new int[] { (space - 1) / columns, (space - 1) % columns };
+    }
+
+    // Returns the most moves a position can have (one per space)
+    public int getMaxMoves() {
+        return rows * columns;
+    }
+
+    // Attempts to place the player's symbol ('X' or 'O') on the board at the given space
+    public boolean setSpace(int space, String player) {
+        return makeMove(space, player);
+    }
+
+    // Places the player's symbol in place, recording the space so the move can be undone
+    public boolean makeMove(int space, String player) {
+        if (space < 1 || space > rows * columns || !isEmpty(space - 1)) return false;  // Off the board or occupied
+        boolean isX = player.equals("X");
+        boolean madeLine = placeMark(space - 1, isX);
+        moveHistory[moveCount++] = space;  // Remember the space for undoMove
+        if (madeLine && winner == NO_WINNER) {
+            winner = isX ? X_WINNER : O_WINNER;  // Cache the win until this move is undone
+            winnerMoveCount = moveCount;
+        }
+        return true;
+    }
+
+    // Takes back the most recently placed symbol
+    public void undoMove() {
+        if (moveCount == 0) return;  // Nothing to take back
+        removeMark(moveHistory[--moveCount] - 1);
+        if (moveCount < winnerMoveCount) winner = NO_WINNER;  // The winning move was taken back
+    }
+
+    // Returns the number of marks on the board
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // Returns NO_WINNER, X_WINNER or O_WINNER
+    protected int getWinner() {
+        return winner;
+    }
+
+    // Checks if the given player has won the game
+    // The win is found when the mark is placed, so this only reads the cached result.
+    public boolean hasWon(String player) {
+        return winner == (player.equals("X") ? X_WINNER : O_WINNER);
+    }
+
+    // Checks if every space is taken
+    public boolean isFull() {
+        return moveCount == rows * columns;
+    }
+
+    // Checks if the game is over (a player has won or the board is full)
+    public boolean gameIsOver() {
+        return winner != NO_WINNER || moveCount == rows * columns;
+    }
+}
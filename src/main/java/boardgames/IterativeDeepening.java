@@ -0,0 +1,110 @@
+package boardgames;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives Board.minimax with iterative deepening: it searches depth 1, 2, 3, ... until the time or
+// node budget runs out and then plays the best move from the deepest search that finished.
+// This bounds how long the AI thinks, whatever the position looks like.
+// With principal variation search each iteration starts with an aspiration window around the previous
+// iteration's score, which is widened on the failing side whenever the score falls outside it.
+public class IterativeDeepening {
+
+    // Node budgets for AI difficulty levels 1 to 10. They control how strong the AI plays.
+    private static final long[] DIFFICULTY_NODE_BUDGETS = {
+        10, 100, 500, 2_000, 10_000, 50_000, 200_000, 1_000_000, 4_000_000, 15_000_000
+    };
+
+    // Time budgets (milliseconds) for AI difficulty levels 1 to 10. They cap the worst-case response time.
+    private static final long[] DIFFICULTY_TIME_BUDGETS_MS = {
+        50, 100, 150, 200, 300, 400, 600, 800, 1200, 2000
+    };
+
+    // Returns the node budget for a difficulty level (1-10)
+    public static long nodeBudgetForDifficulty(int difficulty) {
+        return DIFFICULTY_NODE_BUDGETS[Math.max(1, Math.min(10, difficulty)) - 1];
+    }
+
+    // Returns the time budget in milliseconds for a difficulty level (1-10)
+    public static long timeBudgetForDifficulty(int difficulty) {
+        return DIFFICULTY_TIME_BUDGETS_MS[Math.max(1, Math.min(10, difficulty)) - 1];
+    }
+
+    // Searches with the budgets of a difficulty level
+    public static SearchResult searchForDifficulty(Board board, boolean isMaximizing, int difficulty, int maxDepth) {
+        return searchForDifficulty(board, isMaximizing, difficulty, maxDepth, null);
+    }
+
+    // Searches with the budgets of a difficulty level, using the parallel search if one is given
+    public static SearchResult searchForDifficulty(Board board, boolean isMaximizing, int difficulty, int maxDepth, ParallelSearch parallel) {
+        return search(board, isMaximizing, timeBudgetForDifficulty(difficulty), nodeBudgetForDifficulty(difficulty), maxDepth, parallel);
+    }
+
+    // Runs the iterative deepening search on the calling thread
+    public static SearchResult search(Board board, boolean isMaximizing, long timeBudgetMillis, long nodeBudget, int maxDepth) {
+        return search(board, isMaximizing, timeBudgetMillis, nodeBudget, maxDepth, null);
+    }
+
+    // Runs the iterative deepening search and returns the result of the deepest iteration that finished,
+    // with the statistics of all the iterations (including an unfinished last one).
+    // timeBudgetMillis and nodeBudget can be 0 for no limit; maxDepth caps the number of iterations.
+    // Depth 1 always runs to completion, so a legal move is returned even with a tiny budget.
+    // Iterations from depth 2 on are split across threads when parallel is not null.
+    public static SearchResult search(Board board, boolean isMaximizing, long timeBudgetMillis, long nodeBudget, int maxDepth,
+                                      ParallelSearch parallel) {
+        long start = System.nanoTime();
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000L : 0;
+        board.resetSearchStats();
+        if (board.getTranspositionTable() != null) board.getTranspositionTable().newSearch();
+
+        // Depth 1 is searched without limits so there is always a move to play
+        board.clearSearchLimits();
+        SearchResult best = board.minimax(isMaximizing, 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        // Deeper iterations share one budget (the parallel search's threads all draw on sharedNodes); the
+        // transposition table carries the previous best move forward so each iteration searches it first.
+        board.setSearchLimits(deadline, nodeBudget);
+        AtomicLong sharedNodes = parallel != null && nodeBudget > 0 ? new AtomicLong(nodeBudget) : null;
+        for (int depth = 2; depth <= maxDepth; depth++) {
+            SearchResult result;
+            if (parallel != null) {
+                result = parallel.search(board, isMaximizing, depth, deadline, sharedNodes);
+                if (result == null) break; // Unfinished iteration: keep the previous result
+            } else if (board.isPrincipalVariationSearch()) {
+                result = aspirationSearch(board, isMaximizing, depth, best.getScore());
+                if (board.isSearchAborted()) break; // Unfinished iteration: keep the previous result
+            } else {
+                result = board.minimax(isMaximizing, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (board.isSearchAborted()) break; // Unfinished iteration: keep the previous result
+            }
+            best = result;
+        }
+        board.clearSearchLimits();
+
+        SearchStats stats = board.getSearchStats();
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return new SearchResult(best.getScore(), best.getMove(), best.getDepth(), stats, best.getPrincipalVariation());
+    }
+
+    // Searches one depth with a window of the board's aspiration width around the previous score. A score on
+    // or outside the window is only a bound, so the window is widened on that side (4 times as far each time)
+    // and the depth searched again until the score falls inside.
+    private static SearchResult aspirationSearch(Board board, boolean isMaximizing, int depth, int previousScore) {
+        long width = board.aspirationWindow();
+        int alpha = clampScore(previousScore - width);
+        int beta = clampScore(previousScore + width);
+        while (true) {
+            SearchResult result = board.minimax(isMaximizing, depth, alpha, beta);
+            if (board.isSearchAborted()) return result;
+            int score = result.getScore();
+            if (score <= alpha && alpha != Integer.MIN_VALUE) alpha = clampScore(score - width);
+            else if (score >= beta && beta != Integer.MAX_VALUE) beta = clampScore(score + width);
+            else return result;
+            width *= 4;
+        }
+    }
+
+    // Keeps a window bound within the int range (the extremes mean an open window)
+    private static int clampScore(long score) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, score));
+    }
+}
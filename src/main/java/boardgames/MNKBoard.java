@@ -0,0 +1,260 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+// A generalized Tic Tac Toe board: "X" and "O" take turns placing marks on a grid of any number of rows
+// and columns, and the first to get k marks in a row (horizontally, vertically or diagonally) wins.
+// 3,3,3 is Tic Tac Toe and 15,15,5 is Gomoku. Spaces are numbered 1 to rows * columns, row by row.
+//
+// The turns, the move history and the cached winner come from GridBoard, which TicTacToeBoard shares;
+// TicTacToeBoard stays a separate class because its 9-bit masks, symmetries and position index (which the
+// solved TicTacToeTable is built on) only work on 3 x 3.
+//
+// Like ConnectFourBoard it keeps a count of each player's marks in every line of k cells ("window"), and
+// only the windows through the changed cell are updated on each move and undo. A window reaching k marks
+// is a win, and the counts give the heuristic score. To keep the branching factor manageable on large
+// boards, generateMoves only returns spaces within two cells of a mark already on the board.
+public class MNKBoard extends GridBoard {
+
+    // Score of a won position (positive when "X" has won)
+    public static final int WIN_SCORE = 1_000_000_000;
+
+    // Limits on the board size (moves are stored in 16 bits in the transposition table)
+    // and on k (the window weights below grow by 8 per mark and must not overflow).
+    public static final int MAX_SIZE = 25;
+    public static final int MAX_WIN_LENGTH = 8;
+
+    // Only spaces within this many cells of a mark are searched
+    private static final int NEIGHBOR_RADIUS = 2;
+
+    // Directions of the lines (row step, column step): across, down and the two diagonals
+    private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+    private final int rows;       // Copies of getRows() and getColumns(), read on every move
+    private final int columns;
+    private final int winLength;  // k, the number of marks in a row needed to win
+
+    // Tables that only depend on the board size, shared by clones:
+    // the cells of every window, the windows through each cell, Zobrist keys and the window weights.
+    private final int[][] windows;
+    private final int[][] cellWindows;
+    private final long[][] zobristKeys;
+    private final int[] windowWeights;  // windowWeights[count] is the value of a window with count marks of one player
+
+    // Marks on the board: cells[space - 1] is 0 (empty), 1 ("X") or 2 ("O")
+    private byte[] cells;
+
+    // Number of marks within NEIGHBOR_RADIUS cells of each space, for the move generation
+    private int[] neighborCounts;
+
+    // Zobrist hash of the current position, updated on every move and undo
+    private long hash;
+
+    // Number of "X" and "O" marks in each window, and the heuristic score they add up to
+    private byte[] windowXCounts;
+    private byte[] windowOCounts;
+    private int heuristicScore;
+
+    // Default constructor: a 15 x 15 Gomoku board (five in a row)
+    public MNKBoard() {
+        this(15, 15, 5);
+    }
+
+    // Creates an empty board with the given number of rows and columns where k marks in a row win
+    public MNKBoard(int rows, int columns, int winLength) {
+        super(rows, columns);
+        if (rows < 1 || rows > MAX_SIZE || columns < 1 || columns > MAX_SIZE) {
+            throw new IllegalArgumentException("Rows and columns must be between 1 and " + MAX_SIZE);
+        }
+        if (winLength < 2 || winLength > MAX_WIN_LENGTH || winLength > Math.max(rows, columns)) {
+            throw new IllegalArgumentException("k must be between 2 and " + MAX_WIN_LENGTH + " and fit on the board");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.winLength = winLength;
+        int spaces = rows * columns;
+
+        // Build the windows in each direction
+        ArrayList<int[]> windowList = new ArrayList<>();
+        for (int[] direction : DIRECTIONS) {
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    int endRow = row + (winLength - 1) * direction[0];
+                    int endCol = col + (winLength - 1) * direction[1];
+                    if (endRow >= rows || endCol < 0 || endCol >= columns) continue;
+                    int[] window = new int[winLength];
+                    for (int i = 0; i < winLength; i++) {
+                        window[i] = (row + i * direction[0]) * columns + (col + i * direction[1]);
+                    }
+                    windowList.add(window);
+                }
+            }
+        }
+        windows = windowList.toArray(new int[0][]);
+
+        // Index the windows by the cells they contain
+        int[] windowsPerCell = new int[spaces];
+        for (int[] window : windows) {
+            for (int cell : window) windowsPerCell[cell]++;
+        }
+        cellWindows = new int[spaces][];
+        for (int cell = 0; cell < spaces; cell++) cellWindows[cell] = new int[windowsPerCell[cell]];
+        int[] filled = new int[spaces];
+        for (int w = 0; w < windows.length; w++) {
+            for (int cell : windows[w]) cellWindows[cell][filled[cell]++] = w;
+        }
+
+        // Each extra mark in an open window is worth 8 times more; a full window is worth the most
+        windowWeights = new int[winLength + 1];
+        for (int count = 1; count <= winLength; count++) windowWeights[count] = 1 << (3 * (count - 1));
+
+        // Fixed seed per board size so hashes are identical between runs
+        zobristKeys = new long[2][spaces];
+        Random random = new Random(0x4D4E4BL * 31 * 31 + rows * 31 + columns + winLength * 1024L);
+        for (int player = 0; player < 2; player++) {
+            for (int cell = 0; cell < spaces; cell++) zobristKeys[player][cell] = random.nextLong();
+        }
+
+        cells = new byte[spaces];
+        neighborCounts = new int[spaces];
+        windowXCounts = new byte[windows.length];
+        windowOCounts = new byte[windows.length];
+    }
+
+    // Private constructor used to create a deep copy of the board (cloning it)
+    private MNKBoard(MNKBoard other) {
+        super(other);  // The move history and the result
+        this.rows = other.rows;
+        this.columns = other.columns;
+        this.winLength = other.winLength;
+        this.windows = other.windows;          // The size tables never change, so they are shared
+        this.cellWindows = other.cellWindows;
+        this.zobristKeys = other.zobristKeys;
+        this.windowWeights = other.windowWeights;
+        this.cells = other.cells.clone();
+        this.neighborCounts = other.neighborCounts.clone();
+        this.hash = other.hash;
+        this.windowXCounts = other.windowXCounts.clone();
+        this.windowOCounts = other.windowOCounts.clone();
+        this.heuristicScore = other.heuristicScore;
+    }
+
+    public int getWinLength() { return winLength; }
+
+    // Returns the current board layout (2D array of Strings), built on demand for the UI
+    public String[][] getBoardLayout() {
+        String[][] layout = new String[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                byte cell = cells[row * columns + col];
+                layout[row][col] = cell == 1 ? "X" : cell == 2 ? "O" : " ";
+            }
+        }
+        return layout;
+    }
+
+    // Create and return a new MNKBoard object that is a clone of the current board
+    public Board cloneBoard() {
+        return new MNKBoard(this);
+    }
+
+    // Writes the spaces worth searching into the array and returns how many there are:
+    // the empty spaces near a mark, or the centre space on an empty board
+    public int generateMoves(int[] moves) {
+        if (getMoveCount() == 0) {
+            moves[0] = (rows / 2) * columns + columns / 2 + 1;
+            return 1;
+        }
+        int count = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == 0 && neighborCounts[cell] > 0) moves[count++] = cell + 1;
+        }
+        return count;
+    }
+
+    // Static move ordering for the search: spaces in the windows with the most marks of one player come first,
+    // so winning and blocking moves are searched before quiet ones
+    protected int staticMoveScore(int space) {
+        int score = 0;
+        for (int w : cellWindows[space - 1]) {
+            int x = windowXCounts[w];
+            int o = windowOCounts[w];
+            if (o == 0) score += windowWeights[x + 1];
+            if (x == 0) score += windowWeights[o + 1];
+        }
+        return score;
+    }
+
+    // Aspiration window for principal variation search: the value of a window one mark short of k.
+    // The heuristic swings by about that much between odd and even depths, so narrower windows fail too often.
+    protected int aspirationWindow() {
+        return windowWeights[winLength - 1];
+    }
+
+    protected boolean isEmpty(int cell) {
+        return cells[cell] == 0;
+    }
+
+    // Places the mark and updates the hash, the neighbour counts and the windows through the cell
+    protected boolean placeMark(int cell, boolean isX) {
+        cells[cell] = (byte) (isX ? 1 : 2);
+        hash ^= zobristKeys[isX ? 0 : 1][cell];
+        updateNeighbors(cell, 1);
+        return updateWindows(cell, isX, 1);
+    }
+
+    protected void removeMark(int cell) {
+        boolean isX = cells[cell] == 1;
+        cells[cell] = 0;
+        hash ^= zobristKeys[isX ? 0 : 1][cell];
+        updateNeighbors(cell, -1);
+        updateWindows(cell, isX, -1);
+    }
+
+    // Adds (change = 1) or removes (change = -1) a mark from the neighbour counts around a cell
+    private void updateNeighbors(int cell, int change) {
+        int row = cell / columns;
+        int col = cell % columns;
+        for (int r = Math.max(0, row - NEIGHBOR_RADIUS); r <= Math.min(rows - 1, row + NEIGHBOR_RADIUS); r++) {
+            for (int c = Math.max(0, col - NEIGHBOR_RADIUS); c <= Math.min(columns - 1, col + NEIGHBOR_RADIUS); c++) {
+                neighborCounts[r * columns + c] += change;
+            }
+        }
+    }
+
+    // Adds (change = 1) or removes (change = -1) a mark in the window counts of one player, keeping the
+    // heuristic score in step. Returns true if one of these windows now holds k marks of the player.
+    private boolean updateWindows(int cell, boolean isX, int change) {
+        byte[] counts = isX ? windowXCounts : windowOCounts;
+        boolean madeLine = false;
+        for (int w : cellWindows[cell]) {
+            heuristicScore -= windowScore(windowXCounts[w], windowOCounts[w]);
+            counts[w] += change;
+            heuristicScore += windowScore(windowXCounts[w], windowOCounts[w]);
+            if (counts[w] == winLength) madeLine = true;
+        }
+        return madeLine;
+    }
+
+    // Heuristic value of a window: only windows that one player could still complete are worth anything
+    private int windowScore(int x, int o) {
+        if (o == 0) return windowWeights[x];
+        if (x == 0) return -windowWeights[o];
+        return 0;
+    }
+
+    // Returns the Zobrist hash of the current position
+    public long getHash() {
+        return hash;
+    }
+
+    // Evaluates the board: +/- WIN_SCORE if a player has won, 0 for a draw,
+    // otherwise the heuristic score of the windows (positive is good for "X")
+    public int evaluateBoard() {
+        if (getWinner() == X_WINNER) return WIN_SCORE;
+        if (getWinner() == O_WINNER) return -WIN_SCORE;
+        if (isFull()) return 0;
+        return heuristicScore;
+    }
+}
@@ -0,0 +1,373 @@
+package boardgames;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Window for the m,n,k game (Gomoku and other k-in-a-row games on any board size).
+// The player chooses the number of rows and columns and how many marks in a row win before the game starts.
+public class MNKGame {
+    private MNKBoard board;        // Game board (model)
+    private JFrame frame;          // Main window frame for the game
+    private BoardPanel boardPanel; // Component that paints the grid and takes the clicks
+    private String currentPlayer;  // Holds the current player ("X" or "O")
+    private int xWins, oWins, draws; // Tracking wins and draws for both players
+    private JLabel scoreLabel;     // Label to display the current score
+    private String gameMode;       // Game mode: "Player" or "AI"
+    private int aiDifficulty;      // AI difficulty level (1 to 10)
+    private int rows = 15;         // Board size and number of marks in a row needed to win (15,15,5 is Gomoku)
+    private int columns = 15;
+    private int winLength = 5;
+    private TranspositionTable transpositionTable; // Positions already searched by the AI, kept between moves
+    private Random random;         // Picks between equally good AI moves (seed it with -Dai.seed=...)
+    private ParallelSearch parallelSearch;  // Splits the AI search across cores (null when using one thread)
+    private SwingWorker<SearchResult, Void> aiWorker; // Background task computing the AI's move (null when the AI is not thinking)
+    private AtomicBoolean aiCancelFlag;     // Set to cancel the AI search that is running
+    private JTextArea debugText;   // Statistics of the AI's last move (null unless -Dai.debug=true)
+    private boolean ponderEnabled; // Whether the AI keeps searching during the player's turn (-Dai.ponder=false turns it off)
+    private Ponder ponder;         // Search running during the player's turn (null when not pondering)
+    private boolean principalVariationSearch; // Search with PVS instead of plain alpha-beta (-Dai.search=pvs)
+
+    public MNKGame(Point location) {
+        // Initial setup for the game frame and components
+        frame = new JFrame("Gomoku (m,n,k)");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLayout(new BorderLayout()); // Use BorderLayout to arrange components
+        frame.setLocation(location); // Set the window location on screen
+
+        // Create the AI's transposition table (size in MB can be changed with -Dai.tt.mb=...)
+        transpositionTable = new TranspositionTable(Integer.getInteger("ai.tt.mb", TranspositionTable.DEFAULT_SIZE_MB));
+        Long seed = Long.getLong("ai.seed");
+        random = seed != null ? new Random(seed) : new Random();
+
+        // Search on every core unless a thread count is given with -Dai.threads=...
+        int threads = Integer.getInteger("ai.threads", Runtime.getRuntime().availableProcessors());
+        if (threads > 1) parallelSearch = new ParallelSearch(threads);
+        ponderEnabled = Boolean.parseBoolean(System.getProperty("ai.ponder", "true"));
+        principalVariationSearch = System.getProperty("ai.search", "alphabeta").equals("pvs");
+
+        showModePanel();
+    }
+
+    // Shows the buttons to choose Player vs Player or Player vs AI
+    private void showModePanel() {
+        JPanel modePanel = new JPanel(new GridLayout(1, 2));
+
+        JButton playerButton = new JButton("Player vs Player");
+        JButton aiButton = new JButton("Player vs AI");
+
+        // Action listeners for buttons to select game mode
+        playerButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameMode = "Player";  // Set game mode to Player vs Player
+                if (promptBoardSize()) initializeGame();
+            }
+        });
+
+        aiButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameMode = "AI";  // Set game mode to Player vs AI
+                if (promptBoardSize()) promptAIDifficulty();
+            }
+        });
+
+        modePanel.add(playerButton);
+        modePanel.add(aiButton);
+
+        frame.add(modePanel, BorderLayout.CENTER);
+        frame.setSize(400, 200);  // Set the size of the initial window
+        frame.setVisible(true);
+    }
+
+    // Asks for the board size as "rows,columns,k". Returns false (back at the main menu) if the user cancels.
+    private boolean promptBoardSize() {
+        String input = (String) JOptionPane.showInputDialog(frame,
+                "Enter rows, columns and marks in a row to win (e.g. 15,15,5 for Gomoku, 3,3,3 for Tic Tac Toe):",
+                "Board Size", JOptionPane.QUESTION_MESSAGE, null, null, rows + "," + columns + "," + winLength);
+        if (input == null) {
+            resetToMenu();
+            return false;
+        }
+        try {
+            String[] parts = input.split(",");
+            if (parts.length != 3) throw new IllegalArgumentException("Please enter three numbers separated by commas.");
+            int newRows = Integer.parseInt(parts[0].trim());
+            int newColumns = Integer.parseInt(parts[1].trim());
+            int newWinLength = Integer.parseInt(parts[2].trim());
+            new MNKBoard(newRows, newColumns, newWinLength);  // Checks the size is supported
+            rows = newRows;
+            columns = newColumns;
+            winLength = newWinLength;
+            return true;
+        } catch (IllegalArgumentException e) {  // Also catches NumberFormatException
+            JOptionPane.showMessageDialog(frame, "Invalid size: " + e.getMessage());
+            return promptBoardSize();  // Prompt again if invalid input
+        }
+    }
+
+    private void promptAIDifficulty() {
+        // Prompt the user for the difficulty level for the AI (1 - 10)
+        String input = JOptionPane.showInputDialog(frame,
+                "Select AI difficulty (1 - Easy, 10 - Hard):",
+                "AI Difficulty",
+                JOptionPane.QUESTION_MESSAGE);
+
+        // If user cancels or closes the input dialog, return to main menu
+        if (input == null) {
+            resetToMenu();
+            return;
+        }
+
+        try {
+            aiDifficulty = Integer.parseInt(input);
+            // Ensure the input is within valid range (1-10)
+            if (aiDifficulty < 1 || aiDifficulty > 10) {
+                JOptionPane.showMessageDialog(frame, "Please enter a number between 1 and 10.");
+                promptAIDifficulty(); // Prompt again if invalid input
+            } else {
+                initializeGame(); // Start the game with the selected difficulty
+            }
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(frame, "Invalid input. Please enter a number between 1 and 10.");
+            promptAIDifficulty(); // Prompt again in case of invalid input
+        }
+    }
+
+    private void initializeGame() {
+        // Initialize game components after the mode and size have been selected
+        board = new MNKBoard(rows, columns, winLength);
+        board.setTranspositionTable(transpositionTable);
+        board.setRandom(random);
+        board.setPrincipalVariationSearch(principalVariationSearch);
+        currentPlayer = "X";  // Player X starts the game
+        xWins = 0;
+        oWins = 0;
+        draws = 0;
+
+        // Clear previous game components and set up the main game frame
+        frame.getContentPane().removeAll();
+        frame.setLayout(new BorderLayout());
+
+        // Create the score label and set its font
+        scoreLabel = new JLabel("X Wins: 0   O Wins: 0   Draws: 0", JLabel.CENTER);
+        scoreLabel.setFont(new Font("Arial", Font.PLAIN, 20));
+        frame.add(scoreLabel, BorderLayout.NORTH);
+
+        // Panel for the grid, which reports the clicked cell; the marks are scaled to the cell size
+        boardPanel = new BoardPanel(rows, columns, BoardPanel.Style.MARKS);
+        boardPanel.setCellListener(new BoardPanel.CellListener() {
+            @Override
+            public void cellClicked(int row, int col) {
+                onCellClicked(row, col);
+            }
+        });
+        frame.add(boardPanel, BorderLayout.CENTER);
+
+        // Add "Back to Main Menu" button to allow returning to the mode selection screen
+        JButton backToMenuButton = new JButton("Back to Main Menu");
+        backToMenuButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                resetToMenu();
+            }
+        });
+
+        // With -Dai.debug=true, show the statistics of the AI's last move in a strip above the button
+        if (Boolean.getBoolean("ai.debug")) {
+            debugText = new JTextArea("The AI's search statistics appear here after its move.");
+            debugText.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            debugText.setEditable(false);
+            debugText.setLineWrap(true);       // Wrap long lines to the window's width
+            debugText.setWrapStyleWord(true);
+            JPanel southPanel = new JPanel(new BorderLayout());
+            southPanel.add(debugText, BorderLayout.NORTH);
+            southPanel.add(backToMenuButton, BorderLayout.SOUTH);
+            frame.add(southPanel, BorderLayout.SOUTH);
+        } else {
+            frame.add(backToMenuButton, BorderLayout.SOUTH);
+        }
+
+        frame.setSize(700, 750);  // Large enough for a 15 x 15 board
+        frame.setVisible(true);
+    }
+
+    private void resetToMenu() {
+        cancelAIMove();  // Stop any AI search that is still running
+        stopPondering();
+
+        // Stop the AI's worker threads, since this game window is going away
+        if (parallelSearch != null) parallelSearch.shutdown();
+
+        // Dispose of the current frame and create a new GameMenu instance
+        frame.dispose();
+        new GameMenu(frame.getLocation());
+    }
+
+    private void onCellClicked(int row, int col) {
+        if (aiWorker != null) return;  // Ignore clicks while the AI is thinking
+        int space = row * columns + col + 1;
+
+        // Set the space on the board for the current player
+        if (board.setSpace(space, currentPlayer)) {
+            boardPanel.setCell(row, col, currentPlayer);
+
+            // Check if the current player has won
+            if (board.hasWon(currentPlayer)) {
+                JOptionPane.showMessageDialog(frame, currentPlayer + " Wins!");
+                updateScore(currentPlayer);  // Update the score based on the winner
+                resetGame();  // Reset the game for a new round
+            } else if (board.gameIsOver()) {
+                // If no winner and no moves left, it's a draw
+                JOptionPane.showMessageDialog(frame, "Game Over! It's a draw.");
+                draws++;
+                updateScoreDisplay();
+                resetGame();  // Reset the game
+            } else {
+                // Switch to the other player
+                currentPlayer = currentPlayer.equals("X") ? "O" : "X";
+                if (gameMode.equals("AI") && currentPlayer.equals("O")) {
+                    aiMove(space); // Let AI make its move if it's AI's turn
+                }
+            }
+        }
+    }
+
+    // Makes the AI's move after the player took playerSpace.
+    // The search runs on a background thread so the window keeps repainting; the move is applied on the
+    // event dispatch thread when it is ready. Clicks are ignored until then.
+    private void aiMove(int playerSpace) {
+        // Play the pondered answer when the AI predicted the player's move and already used its whole budget
+        SearchResult ponderAnswer = ponder != null ? ponder.stopAndGetAnswer(playerSpace) : null;
+        ponder = null;
+        if (ponderAnswer != null) {
+            showSearchStats(ponderAnswer, "pondered");
+            applyAIMove(ponderAnswer.getMove());
+            return;
+        }
+
+        // Search a copy of the board so the UI's board is never touched by the background thread
+        Board searchBoard = board.cloneForSearch();
+        int emptyCells = rows * columns - board.getMoveCount();
+        AtomicBoolean cancelFlag = new AtomicBoolean();
+        searchBoard.setCancelFlag(cancelFlag);
+        aiCancelFlag = cancelFlag;
+
+        aiWorker = new SwingWorker<SearchResult, Void>() {
+            @Override
+            protected SearchResult doInBackground() {
+                // Use iterative deepening minimax within the difficulty's budget to calculate the best move for the AI
+                return IterativeDeepening.searchForDifficulty(searchBoard, false, aiDifficulty, emptyCells, parallelSearch);
+            }
+
+            @Override
+            protected void done() {
+                if (aiWorker != this || isCancelled()) return;  // The game was reset or left while the AI was thinking
+                aiWorker = null;
+                try {
+                    SearchResult result = get();
+                    showSearchStats(result, null);
+                    applyAIMove(result.getMove());
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();  // The search failed; give the turn back to the player
+                    currentPlayer = "X";
+                }
+            }
+        };
+        aiWorker.execute();
+    }
+
+    private void applyAIMove(int bestMovePosition) {
+        int[] rowAndCol = board.getSpotOnBoard(bestMovePosition);
+
+        // Perform the move and paint the new mark
+        board.setSpace(bestMovePosition, "O");
+        boardPanel.setCell(rowAndCol[0], rowAndCol[1], "O");
+
+        // Check if the AI won or if it's a draw
+        if (board.hasWon("O")) {
+            JOptionPane.showMessageDialog(frame, "O Wins!");
+            updateScore("O");
+            resetGame();  // Reset the game
+        } else if (board.gameIsOver()) {
+            JOptionPane.showMessageDialog(frame, "Game Over! It's a draw.");
+            draws++;
+            updateScoreDisplay();
+            resetGame();  // Reset the game
+        } else {
+            // Switch back to player X's turn
+            currentPlayer = "X";
+            startPondering();  // Think about the AI's next move while the player decides
+        }
+    }
+
+    // Start searching the AI's answer to the player's most likely move in the background
+    private void startPondering() {
+        if (!ponderEnabled) return;
+        int emptyCells = rows * columns - board.getMoveCount();
+        ponder = new Ponder(board, true, IterativeDeepening.nodeBudgetForDifficulty(aiDifficulty), emptyCells);
+    }
+
+    // Stop pondering, e.g. when the game is reset; the result is thrown away
+    private void stopPondering() {
+        if (ponder != null) {
+            ponder.stop();
+            ponder = null;
+        }
+    }
+
+    // Log the AI's move with its search statistics and show them in the debug strip (only with -Dai.debug=true).
+    // source says where the move came from when it was not searched after the player's move (or is null).
+    private void showSearchStats(SearchResult result, String source) {
+        if (debugText == null) return;
+        int[] rowAndCol = board.getSpotOnBoard(result.getMove());
+        String text = "AI move row " + (rowAndCol[0] + 1) + " column " + (rowAndCol[1] + 1) + ", score " + result.getScore()
+                + ", depth " + result.getDepth() + (source != null ? " (" + source + ")" : "")
+                + (result.getPrincipalVariation() != null ? ", PV " + result.getPrincipalVariationText() : "") + ": " + result.getStats();
+        System.out.println(text);
+        debugText.setText(text);
+    }
+
+    private void cancelAIMove() {
+        // Cancel the AI's search if it is running; its result will be ignored
+        if (aiWorker != null) {
+            aiCancelFlag.set(true);  // Makes the search unwind quickly
+            aiWorker.cancel(false);
+            aiWorker = null;
+        }
+    }
+
+    private void resetGame() {
+        cancelAIMove();  // Stop any AI search for the old board
+        stopPondering();
+
+        // Reset the board and the grid for a new round
+        board = new MNKBoard(rows, columns, winLength);
+        board.setTranspositionTable(transpositionTable);
+        board.setRandom(random);
+        board.setPrincipalVariationSearch(principalVariationSearch);
+        currentPlayer = "X";  // Reset to player "X"
+
+        boardPanel.clear();  // Clear the marks
+    }
+
+    private void updateScore(String winner) {
+        // Update the score based on the winner
+        if (winner.equals("X")) {
+            xWins++;
+        } else if (winner.equals("O")) {
+            oWins++;
+        }
+        updateScoreDisplay();  // Update the displayed score
+    }
+
+    private void updateScoreDisplay() {
+        // Update the score label to show current scores
+        scoreLabel.setText("X Wins: " + xWins + "   O Wins: " + oWins + "   Draws: " + draws);
+    }
+}
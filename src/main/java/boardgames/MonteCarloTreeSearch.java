@@ -0,0 +1,317 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A Monte Carlo Tree Search (UCT) engine for any Board. Instead of a depth-limited minimax with a
+// heuristic, it plays many random games ("playouts") to the end and grows a tree of the positions it
+// has visited, spending more playouts on the moves that win most often. It does not need an evaluation
+// function and its cost does not explode with the branching factor, so it is a useful alternative to
+// Board.minimax on wide boards.
+//
+// Each playout:
+//  1. selects a path from the root, picking in each node the child with the best UCT value
+//     (win rate + EXPLORATION * sqrt(ln(parent visits) / child visits)),
+//  2. expands the last node reached (adds a child for every legal move) once it has been visited,
+//  3. plays random moves from there until the game is over,
+//  4. adds the result to every node on the path (a win counts 2, a draw 1, for the player who moved).
+//
+// The playouts run on several threads over one shared tree ("tree parallelism"). A thread walking
+// down the tree adds a virtual loss to every node on its path, which makes the other threads prefer
+// other paths until the playout's real result replaces it.
+// The tree is kept after a search: if the next search starts from a position two plies further down
+// (the AI's move and the player's reply), that subtree becomes the new root with all its playouts.
+public class MonteCarloTreeSearch {
+
+    // Playout budgets for AI difficulty levels 1 to 10. They control how strong the AI plays.
+    private static final long[] DIFFICULTY_PLAYOUT_BUDGETS = {
+        20, 100, 300, 1_000, 3_000, 10_000, 30_000, 100_000, 300_000, 1_000_000
+    };
+
+    // Weight of exploration in the UCT value (rewards are between 0 and 1)
+    private static final double EXPLORATION = 1.0;
+
+    // Visits a node needs before it is expanded; leaves below this only get playouts
+    private static final int EXPAND_VISITS = 1;
+
+    // Visits added to each node on a thread's path while its playout runs
+    private static final int VIRTUAL_LOSS = 1;
+
+    // The tree stops growing beyond this many nodes (playouts continue from its leaves), and a reused
+    // tree that already has half as many is dropped, so memory stays bounded on long searches
+    private static final int MAX_NODES = 2_000_000;
+
+    // Range of the score in the SearchResult: +SCORE_SCALE when "X" wins every playout
+    private static final int SCORE_SCALE = 1000;
+
+    // A node of the tree: the position after "move", with the playouts that went through it.
+    // reward is counted in half points from the point of view of the player who made the move.
+    private static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> VISITS = AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicIntegerFieldUpdater<Node> REWARD = AtomicIntegerFieldUpdater.newUpdater(Node.class, "reward");
+        private static final AtomicIntegerFieldUpdater<Node> VIRTUAL = AtomicIntegerFieldUpdater.newUpdater(Node.class, "virtualLosses");
+
+        final int move;          // Move that leads to this node (-1 at the first root)
+        final boolean xMoved;    // Whether "X" made that move
+        volatile Node[] children; // null until the node is expanded
+        volatile int visits;
+        volatile int reward;
+        volatile int virtualLosses;
+
+        Node(int move, boolean xMoved) {
+            this.move = move;
+            this.xMoved = xMoved;
+        }
+    }
+
+    private final ForkJoinPool pool;  // Worker threads (null when searching on the calling thread only)
+    private final int threads;
+    private final AtomicLong nodeCount = new AtomicLong();
+
+    // The tree kept from the last search and a copy of the position at its root
+    private Node root;
+    private Board rootBoard;
+
+    // Creates a search that runs playouts on the given number of threads (at least 1)
+    public MonteCarloTreeSearch(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+    }
+
+    // Returns the playout budget for a difficulty level (1-10)
+    public static long playoutBudgetForDifficulty(int difficulty) {
+        return DIFFICULTY_PLAYOUT_BUDGETS[Math.max(1, Math.min(10, difficulty)) - 1];
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Stops the worker threads. The search cannot be used afterwards.
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    // Forgets the tree, so the next search starts from scratch
+    public synchronized void clear() {
+        root = null;
+        rootBoard = null;
+        nodeCount.set(0);
+    }
+
+    // Searches with the budgets of a difficulty level (the same time budget as the minimax AI)
+    public SearchResult searchForDifficulty(Board board, boolean isMaximizing, int difficulty, AtomicBoolean cancelFlag) {
+        return search(board, isMaximizing, playoutBudgetForDifficulty(difficulty), IterativeDeepening.timeBudgetForDifficulty(difficulty), cancelFlag);
+    }
+
+    // Runs playouts from the position until the playout budget or the time budget runs out (either can
+    // be 0 for no limit, but not both) or the cancel flag (may be null) is set, and returns the most
+    // visited move. The score is the win rate of that move scaled to -1000..1000 (positive favours "X",
+    // like Board.minimax); the depth is the deepest node the tree reached. The board is not changed.
+    public synchronized SearchResult search(Board board, boolean isMaximizing, long playoutBudget, long timeBudgetMillis,
+                                            AtomicBoolean cancelFlag) {
+        if (playoutBudget <= 0 && timeBudgetMillis <= 0) throw new IllegalArgumentException("MCTS needs a playout or time budget");
+        long start = System.nanoTime();
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000L : 0;
+
+        root = reuseTree(board);
+        if (root == null) {
+            nodeCount.set(1);
+            root = new Node(-1, !isMaximizing);
+        }
+        rootBoard = board.cloneBoard();
+        Node searchRoot = root;
+
+        // Every thread runs playouts on its own copy of the board until the shared budget is used up
+        SearchStats stats = new SearchStats();
+        AtomicLong playoutsStarted = new AtomicLong();
+        if (pool == null) {
+            runPlayouts(board.cloneBoard(), searchRoot, playoutBudget, deadline, cancelFlag, playoutsStarted, stats);
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(() -> {
+                    runPlayouts(board.cloneBoard(), searchRoot, playoutBudget, deadline, cancelFlag, playoutsStarted, stats);
+                    return null;
+                });
+            }
+            pool.invokeAll(tasks);
+        }
+        stats.setElapsedNanos(System.nanoTime() - start);
+
+        // Play the most visited move: it is the one the search is most sure of
+        Node best = null;
+        Node[] children = searchRoot.children;
+        if (children != null) {
+            for (Node child : children) {
+                if (best == null || child.visits > best.visits) best = child;
+            }
+        }
+        if (best == null) {
+            // Not a single playout finished (e.g. cancelled at once): any legal move
+            int[] moves = new int[board.getMaxMoves()];
+            int count = board.generateMoves(moves);
+            return new SearchResult(0, count > 0 ? moves[0] : -1, 0, stats);
+        }
+        double winRate = best.visits == 0 ? 0.5 : best.reward / (2.0 * best.visits);
+        int score = (int) Math.round((2 * winRate - 1) * SCORE_SCALE) * (isMaximizing ? 1 : -1);
+        return new SearchResult(score, best.move, stats.getMaxPly(), stats);
+    }
+
+    // Returns the node of the kept tree that stands for the board's position (the root itself, or a
+    // node one or two plies below it), or null if there is none
+    private Node reuseTree(Board board) {
+        if (root == null || nodeCount.get() > MAX_NODES / 2) return null;
+        if (rootBoard.getHash() == board.getHash()) return root;
+        Node[] children = root.children;
+        if (children == null) return null;
+        for (Node child : children) {
+            rootBoard.makeMove(child.move, child.xMoved ? "X" : "O");
+            Node found = rootBoard.getHash() == board.getHash() ? child : null;
+            Node[] grandchildren = child.children;
+            if (found == null && grandchildren != null) {
+                for (Node grandchild : grandchildren) {
+                    rootBoard.makeMove(grandchild.move, grandchild.xMoved ? "X" : "O");
+                    if (rootBoard.getHash() == board.getHash()) found = grandchild;
+                    rootBoard.undoMove();
+                    if (found != null) break;
+                }
+            }
+            rootBoard.undoMove();
+            if (found != null) return found;
+        }
+        return null;
+    }
+
+    // Runs playouts on one thread until a limit is reached
+    private void runPlayouts(Board board, Node root, long playoutBudget, long deadline, AtomicBoolean cancelFlag,
+                             AtomicLong playoutsStarted, SearchStats totalStats) {
+        SearchStats stats = new SearchStats();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] moves = new int[board.getMaxMoves()];
+        Node[] path = new Node[64];
+        for (long playouts = 0; ; playouts++) {
+            if (playoutBudget > 0 && playoutsStarted.getAndIncrement() >= playoutBudget) break;
+            // Checking the clock and the flag every few playouts is enough: a playout takes microseconds
+            if ((playouts & 15) == 0) {
+                if (cancelFlag != null && cancelFlag.get()) break;
+                if (deadline != 0 && System.nanoTime() - deadline > 0) break;
+            }
+
+            // 1. Selection, with a virtual loss on every node of the path
+            Node node = root;
+            int depth = 0;
+            path[depth++] = node;
+            Node.VIRTUAL.addAndGet(node, VIRTUAL_LOSS);
+            while (!board.gameIsOver()) {
+                Node[] children = node.children;
+                if (children == null) {
+                    // 2. Expansion
+                    if (node.visits < EXPAND_VISITS && node != root) break;
+                    children = expand(node, board, moves);
+                    if (children == null) break;  // The tree is full
+                }
+                node = selectChild(node, children);
+                board.makeMove(node.move, node.xMoved ? "X" : "O");
+                if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+                path[depth++] = node;
+                Node.VIRTUAL.addAndGet(node, VIRTUAL_LOSS);
+            }
+            stats.countNode(depth - 1);
+
+            // 3. Random playout from the last node; undo it afterwards
+            boolean xToMove = !node.xMoved;
+            int played = 0;
+            while (!board.gameIsOver()) {
+                int count = board.generateMoves(moves);
+                board.makeMove(moves[random.nextInt(count)], xToMove ? "X" : "O");
+                xToMove = !xToMove;
+                played++;
+            }
+            stats.countLeaf();
+            int winner = board.hasWon("X") ? 1 : board.hasWon("O") ? -1 : 0;
+            for (int i = 0; i < played; i++) board.undoMove();
+
+            // 4. Backpropagation: replace the virtual losses with the real result
+            for (int i = depth - 1; i >= 0; i--) {
+                Node pathNode = path[i];
+                int reward = winner == 0 ? 1 : (winner == 1) == pathNode.xMoved ? 2 : 0;
+                Node.REWARD.addAndGet(pathNode, reward);
+                Node.VISITS.incrementAndGet(pathNode);
+                Node.VIRTUAL.addAndGet(pathNode, -VIRTUAL_LOSS);
+                if (i > 0) board.undoMove();
+            }
+        }
+        totalStats.add(stats);
+    }
+
+    // Adds a child for every legal move, unless another thread already did or the tree is full
+    private Node[] expand(Node node, Board board, int[] moves) {
+        synchronized (node) {
+            if (node.children != null) return node.children;
+            int count = board.generateMoves(moves);
+            if (nodeCount.addAndGet(count) > MAX_NODES) {
+                nodeCount.addAndGet(-count);
+                return null;
+            }
+            Node[] children = new Node[count];
+            for (int i = 0; i < count; i++) children[i] = new Node(moves[i], !node.xMoved);
+            node.children = children;
+            return children;
+        }
+    }
+
+    // Picks the child with the best UCT value, counting virtual losses as visits without reward.
+    // Children nobody has visited yet come first, in move order.
+    private static Node selectChild(Node node, Node[] children) {
+        double logParentVisits = Math.log(Math.max(1, node.visits + node.virtualLosses));
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+            int visits = child.visits + child.virtualLosses;
+            if (visits == 0) return child;
+            double value = child.reward / (2.0 * visits) + EXPLORATION * Math.sqrt(logParentVisits / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    // Measures playouts per second on Connect Four for 1, 2, 4 and 8 threads from the empty board.
+    // Usage: java boardgames.MonteCarloTreeSearch [playouts per search, default 200000]
+    public static void main(String[] args) {
+        long playouts = args.length > 0 ? Long.parseLong(args[0]) : 200_000;
+        ConnectFourBoard position = new ConnectFourBoard();
+
+        // Warm up the JIT so the first measurements are not dominated by compilation
+        MonteCarloTreeSearch warmUp = new MonteCarloTreeSearch(2);
+        for (int i = 0; i < 5; i++) {
+            warmUp.clear();
+            warmUp.search(position, true, playouts / 4, 0, null);
+        }
+        warmUp.shutdown();
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println("threads  time(ms)  playouts/s  speedup  move  score  tree depth");
+        double serialRate = 0;
+        for (int threads : new int[] { 1, 2, 4, 8 }) {
+            MonteCarloTreeSearch search = new MonteCarloTreeSearch(threads);
+            SearchResult result = search.search(position, true, playouts, 0, null);
+            search.shutdown();
+            double millis = result.getStats().getElapsedNanos() / 1e6;
+            double rate = playouts / (millis / 1000);
+            if (threads == 1) serialRate = rate;
+            System.out.printf("%7d  %8.1f  %10.0f  %7.2f  %4d  %5d  %10d%n",
+                    threads, millis, rate, rate / serialRate, result.getMove(), result.getScore(), result.getDepth());
+        }
+    }
+}
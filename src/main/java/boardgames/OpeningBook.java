@@ -0,0 +1,168 @@
+package boardgames;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+// A Connect Four opening book: the best move and score of every position up to a given number of plies,
+// found ahead of time with a deep search. The file is memory-mapped and searched in place with a binary
+// search, so opening it does not read or parse anything and a lookup does not copy data onto the heap.
+// A position and its mirror image share one record, keyed by the canonical form, so the book holds
+// about half as many records; moves are stored in the canonical orientation and mirrored back on lookup.
+//
+// File layout (big-endian):
+//   header:  int magic ("C4BK"), int version, int max ply, int search depth
+//   records: long canonical position key (ConnectFourBoard.getCanonicalPositionKey), int score,
+//            int move (column in the canonical orientation), sorted by key
+//
+// Running "java boardgames.OpeningBook" generates the book (see main).
+public class OpeningBook {
+
+    // Default file name, looked up in the working directory (another path can be given with -Dai.book=...)
+    public static final String DEFAULT_FILE = "connect4-book.bin";
+
+    private static final int MAGIC = 0x4334424B;  // "C4BK"
+    private static final int VERSION = 2;  // Version 1 books were not canonical
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+
+    // Default generator settings: every position up to 4 plies, searched 12 plies deep
+    private static final int DEFAULT_MAX_PLY = 4;
+    private static final int DEFAULT_SEARCH_DEPTH = 12;
+
+    private final MappedByteBuffer buffer;  // The whole file, mapped read-only
+    private final int records;
+    private final int maxPly;
+    private final int searchDepth;
+
+    private OpeningBook(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || (buffer.capacity() - HEADER_BYTES) % RECORD_BYTES != 0) {
+            throw new IOException("Not a Connect Four opening book (version " + VERSION + ")");
+        }
+        this.maxPly = buffer.getInt(8);
+        this.searchDepth = buffer.getInt(12);
+        this.records = (buffer.capacity() - HEADER_BYTES) / RECORD_BYTES;
+    }
+
+    // Maps a book file into memory. Only the header is read; the records are paged in by the
+    // operating system as lookups touch them.
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Returns the index of the record for a canonical position key, or -1 if the position is not in the book
+    public int find(long key) {
+        int low = 0;
+        int high = records - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = buffer.getLong(HEADER_BYTES + mid * RECORD_BYTES);  // Absolute read, nothing is copied
+            if (midKey < key) low = mid + 1;
+            else if (midKey > key) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    // Score of a record (positive is good for "X", like Board.minimax)
+    public int scoreAt(int record) {
+        return buffer.getInt(HEADER_BYTES + record * RECORD_BYTES + 8);
+    }
+
+    // Best move (column) of a record, in the canonical orientation
+    public int moveAt(int record) {
+        return buffer.getInt(HEADER_BYTES + record * RECORD_BYTES + 12);
+    }
+
+    // Returns the book move for a position in its own orientation, or -1 if the position is not in the book
+    public int getMove(ConnectFourBoard board) {
+        int record = find(board.getCanonicalPositionKey());
+        return record == -1 ? -1 : board.fromCanonicalMove(moveAt(record), board.getCanonicalSymmetry());
+    }
+
+    public int getRecordCount() { return records; }
+    public int getMaxPly() { return maxPly; }
+    public int getSearchDepth() { return searchDepth; }
+
+    // Collects every position that can arise in the first maxPly plies and has not already been decided,
+    // once per pair of mirror images
+    private static void collectPositions(ConnectFourBoard board, int maxPly, TreeMap<Long, int[]> positions) {
+        if (board.gameIsOver() || positions.containsKey(board.getCanonicalPositionKey())) return;
+        positions.put(board.getCanonicalPositionKey(), null);
+        if (board.getMoveCount() == maxPly) return;
+
+        String player = board.getMoveCount() % 2 == 0 ? "X" : "O";
+        for (int col : board.availableMoves()) {
+            board.makeMove(col, player);
+            collectPositions(board, maxPly, positions);
+            board.undoMove();
+        }
+    }
+
+    // Walks the same positions as collectPositions and stores { score, canonical move } for each one the
+    // first time it is reached
+    private static void searchPositions(ConnectFourBoard board, int maxPly, int depth, ParallelSearch parallel,
+                                        TreeMap<Long, int[]> positions, int[] searched) {
+        long key = board.getCanonicalPositionKey();
+        if (board.gameIsOver() || positions.get(key) != null) return;
+
+        boolean isMaximizing = board.getMoveCount() % 2 == 0;
+        SearchResult result = IterativeDeepening.search(board, isMaximizing, 0, 0, depth, parallel);
+        int move = board.toCanonicalMove(result.getMove(), board.getCanonicalSymmetry());
+        positions.put(key, new int[] { result.getScore(), move });
+        if (++searched[0] % 100 == 0) System.out.println("Searched " + searched[0] + " / " + positions.size() + " positions");
+        if (board.getMoveCount() == maxPly) return;
+
+        String player = isMaximizing ? "X" : "O";
+        for (int col : board.availableMoves()) {
+            board.makeMove(col, player);
+            searchPositions(board, maxPly, depth, parallel, positions, searched);
+            board.undoMove();
+        }
+    }
+
+    // Generates the book: searches every position up to maxPly plies to the given depth and writes
+    // the results sorted by canonical position key.
+    // Usage: java boardgames.OpeningBook [output file, default connect4-book.bin] [max ply, default 4] [search depth, default 12]
+    // The search uses -Dai.threads=N threads (default: one per core) and a -Dai.tt.mb=N transposition table.
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        int maxPly = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_PLY;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SEARCH_DEPTH;
+
+        ConnectFourBoard board = new ConnectFourBoard();
+        board.setTranspositionTable(new TranspositionTable(Integer.getInteger("ai.tt.mb", 64)));
+        int threads = Integer.getInteger("ai.threads", Runtime.getRuntime().availableProcessors());
+        ParallelSearch parallel = threads > 1 ? new ParallelSearch(threads) : null;
+
+        long start = System.nanoTime();
+        TreeMap<Long, int[]> positions = new TreeMap<>();  // Sorted by key, which is the order of the file
+        collectPositions(board, maxPly, positions);
+        System.out.println(positions.size() + " positions up to ply " + maxPly + ", searching to depth " + depth);
+        searchPositions(board, maxPly, depth, parallel, positions, new int[1]);
+        if (parallel != null) parallel.shutdown();
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + positions.size() * RECORD_BYTES);
+        out.putInt(MAGIC).putInt(VERSION).putInt(maxPly).putInt(depth);
+        for (Map.Entry<Long, int[]> entry : positions.entrySet()) {
+            out.putLong(entry.getKey()).putInt(entry.getValue()[0]).putInt(entry.getValue()[1]);
+        }
+        out.flip();
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) channel.write(out);
+        }
+        System.out.printf("Wrote %d positions to %s in %.1f s%n", positions.size(), output, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,161 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs Board.minimax on several threads by splitting the moves at the root of the search.
+// The first move is searched on its own to get a good bound ("Young Brothers Wait"), then the
+// remaining moves are searched in parallel on a ForkJoinPool, each on its own clone of the board.
+// The clones share the transposition table and the best score found so far.
+//
+// Ties go to the earliest move in the root order (or to a random one of them if the board has a
+// Random set), so with the same transposition table contents the result is the same score and move
+// as Board.minimax at that depth.
+public class ParallelSearch {
+
+    // Columns of a fixed central opening used by main to get past the empty board
+    private static final int[] OPENING = { 3, 3, 2, 4, 4, 2, 1, 5 };
+
+    private final ForkJoinPool pool;  // Worker threads (daemon threads, so they never keep the program alive)
+    private final int threads;
+
+    // Creates a parallel search using the given number of threads (at least 1)
+    public ParallelSearch(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = new ForkJoinPool(this.threads);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Stops the worker threads. The search cannot be used afterwards.
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Searches the position to the given depth and returns its score and best move.
+    // deadlineNanos (a System.nanoTime() value) can be 0 for no deadline and nodeBudget null for no node
+    // limit. Every thread takes its nodes from nodeBudget, so the iterations of one IterativeDeepening
+    // search can share it as the serial search shares its limit. Returns null if a limit stopped the search.
+    public SearchResult search(Board board, boolean isMaximizing, int depth, long deadlineNanos, AtomicLong nodeBudget) {
+        // Nothing to split: let the serial search handle terminal positions and depth 0
+        if (board.gameIsOver() || depth == 0) return board.minimax(isMaximizing, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        int[] moves = new int[board.getMaxMoves()];
+        int moveCount = board.orderMoves(isMaximizing, board.getTableMove(isMaximizing), moves);
+
+        int[] scores = new int[moveCount];
+        boolean[] exact = new boolean[moveCount];  // False if the score is only a bound (the move is worse than the best)
+        AtomicInteger bestScore = new AtomicInteger(isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        // Search the eldest brother first on the calling thread, then the rest in parallel
+        searchRootMove(board, moves[0], 0, isMaximizing, depth, deadlineNanos, nodeBudget, scores, exact, bestScore, aborted);
+        if (moveCount > 1 && !aborted.get()) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 1; i < moveCount; i++) {
+                final int index = i;
+                tasks.add(() -> {
+                    searchRootMove(board, moves[index], index, isMaximizing, depth, deadlineNanos, nodeBudget,
+                            scores, exact, bestScore, aborted);
+                    return null;
+                });
+            }
+            pool.invokeAll(tasks);
+        }
+        if (aborted.get()) return null;
+
+        // Pick the best exact score, giving ties to the earliest move in the root order
+        // (or to a random one of the tied moves, like Board.minimax does when it has a Random)
+        int bestIndex = -1;
+        int tiedMoves = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (!exact[i]) continue;
+            if (bestIndex == -1 || (isMaximizing ? scores[i] > scores[bestIndex] : scores[i] < scores[bestIndex])) {
+                bestIndex = i;
+                tiedMoves = 1;
+            } else if (scores[i] == scores[bestIndex] && board.getRandom() != null
+                    && board.getRandom().nextInt(++tiedMoves) == 0) {
+                bestIndex = i;
+            }
+        }
+        board.storeTableEntry(isMaximizing, depth, scores[bestIndex], moves[bestIndex]);
+        return new SearchResult(scores[bestIndex], moves[bestIndex], depth);
+    }
+
+    // Searches one root move on a private clone of the board and records its score.
+    // The window is opened one point below (or above) the best score so far, so a move that ties the
+    // best score still gets an exact value and ties can be decided by move order.
+    private void searchRootMove(Board board, int move, int index, boolean isMaximizing, int depth, long deadlineNanos,
+                                AtomicLong nodeBudget, int[] scores, boolean[] exact, AtomicInteger bestScore, AtomicBoolean aborted) {
+        if (aborted.get()) return;
+        Board copy = board.cloneForSearch();  // The root board is only read while the search runs
+        copy.setSharedSearchLimits(deadlineNanos, nodeBudget);
+
+        int bound = bestScore.get();
+        int alpha = Integer.MIN_VALUE, beta = Integer.MAX_VALUE;
+        if (isMaximizing && bound != Integer.MIN_VALUE) alpha = bound - 1;
+        if (!isMaximizing && bound != Integer.MAX_VALUE) beta = bound + 1;
+
+        int score = copy.searchRootMove(isMaximizing, move, depth, alpha, beta);
+        copy.chargeSharedNodes();
+        board.getSearchStats().add(copy.getSearchStats());  // Count this thread's work in the root board's statistics
+        if (copy.isSearchAborted()) {
+            aborted.set(true);
+            return;
+        }
+
+        scores[index] = score;
+        exact[index] = isMaximizing ? score > alpha : score < beta;
+        if (exact[index]) {
+            if (isMaximizing) bestScore.accumulateAndGet(score, Math::max);
+            else bestScore.accumulateAndGet(score, Math::min);
+        }
+    }
+
+    // Measures the speedup of the parallel search on Connect Four for 1, 2, 4 and 8 threads at depths 8-12,
+    // and checks that every thread count finds the same score and move as the serial minimax.
+    // Usage: java boardgames.ParallelSearch [number of opening moves to play first (0-8), default 0]
+    public static void main(String[] args) {
+        int openingMoves = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        ConnectFourBoard position = new ConnectFourBoard();
+        for (int i = 0; i < openingMoves; i++) {
+            position.setSpace(OPENING[i], i % 2 == 0 ? "X" : "O");
+        }
+        boolean isMaximizing = openingMoves % 2 == 0;
+
+        // Warm up the JIT so the first measurements are not dominated by compilation
+        for (int i = 0; i < 5; i++) {
+            position.cloneForSearch().minimax(isMaximizing, 8, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            ParallelSearch warmUp = new ParallelSearch(2);
+            warmUp.search(position, isMaximizing, 8, 0, null);
+            warmUp.shutdown();
+        }
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println("depth  threads  time(ms)  speedup  score  move  same-as-serial");
+        for (int depth = 8; depth <= 12; depth++) {
+            long start = System.nanoTime();
+            SearchResult serial = position.cloneForSearch().minimax(isMaximizing, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            double serialMillis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%5d  %7s  %8.1f  %7s  %5d  %4d%n", depth, "serial", serialMillis, "1.00", serial.getScore(), serial.getMove());
+
+            for (int threads : new int[] { 1, 2, 4, 8 }) {
+                ParallelSearch search = new ParallelSearch(threads);
+                start = System.nanoTime();
+                SearchResult result = search.search(position, isMaximizing, depth, 0, null);
+                double millis = (System.nanoTime() - start) / 1e6;
+                search.shutdown();
+                boolean same = result.getScore() == serial.getScore() && result.getMove() == serial.getMove();
+                System.out.printf("%5d  %7d  %8.1f  %7.2f  %5d  %4d  %s%n",
+                        depth, threads, millis, serialMillis / millis, result.getScore(), result.getMove(), same ? "yes" : "NO");
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package boardgames;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Keeps the AI thinking during the human's turn ("pondering"). It guesses the human's move, plays it on a
+// copy of the board and searches the AI's answer on a background thread until the human moves:
+//  - If the human plays the predicted move and the ponder search already used the AI's whole node budget,
+//    its answer is played at once.
+//  - Otherwise the AI searches as usual. Everything the ponder search found is in the shared transposition
+//    table, so after a correct guess the AI gets deeper in the same time.
+// A wrong guess only costs the CPU time: stop() cancels the search and its answer is thrown away.
+// Pondering uses one thread, so the search does not compete with the rest of the program for every core.
+public class Ponder {
+
+    // Time spent guessing the human's move when the transposition table has no best move for the position
+    private static final long PREDICTION_TIME_MS = 50;
+
+    private final AtomicBoolean cancelFlag = new AtomicBoolean();  // Set by stop() to end the search
+    private final Thread thread;
+
+    // Written by the ponder thread and read after stop() has waited for it
+    private volatile int predictedMove = -1;    // The human's move being pondered (-1 until it is chosen)
+    private volatile SearchResult answer;       // The AI's answer to the predicted move (null until the search returns)
+    private volatile boolean completed;         // True if the search used its whole budget before it was stopped
+
+    // Starts pondering on a copy of the board, where the human is to move. The AI's answer is searched
+    // with the given node budget (so the AI never plays stronger than its difficulty) and no time limit.
+    public Ponder(Board board, boolean humanIsMaximizing, long nodeBudget, int maxDepth) {
+        Board ponderBoard = board.cloneForSearch();
+        ponderBoard.setCancelFlag(cancelFlag);
+        thread = new Thread(() -> ponder(ponderBoard, humanIsMaximizing, nodeBudget, maxDepth), "ponder");
+        thread.setDaemon(true);  // Never keeps the program running
+        thread.start();
+    }
+
+    // Runs on the ponder thread
+    private void ponder(Board board, boolean humanIsMaximizing, long nodeBudget, int maxDepth) {
+        String humanSymbol = humanIsMaximizing ? "X" : "O";
+
+        // The best move from the AI's last search is the most likely reply; search briefly if there is none
+        int move = board.getTableMove(humanIsMaximizing);
+        if (move == -1 || !board.makeMove(move, humanSymbol)) {
+            move = IterativeDeepening.search(board, humanIsMaximizing, PREDICTION_TIME_MS, 0, maxDepth).getMove();
+            if (cancelFlag.get() || move == -1 || !board.makeMove(move, humanSymbol)) return;
+        }
+        predictedMove = move;
+        if (board.gameIsOver()) return;  // The predicted move ends the game: nothing to answer
+
+        SearchResult result = IterativeDeepening.search(board, !humanIsMaximizing, 0, nodeBudget, maxDepth - 1);
+        completed = !cancelFlag.get();
+        answer = result;
+    }
+
+    // Stops pondering and waits for the search to unwind (it checks the cancel flag every 1024 nodes)
+    public void stop() {
+        cancelFlag.set(true);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stops pondering once the human has played. Returns the AI's answer if the human played the predicted
+    // move and the search used its whole budget; otherwise null, and the AI should search as usual.
+    public SearchResult stopAndGetAnswer(int humanMove) {
+        stop();
+        return completed && humanMove == predictedMove ? answer : null;
+    }
+
+    // Returns the human's move being pondered, or -1 if it has not been chosen yet
+    public int getPredictedMove() {
+        return predictedMove;
+    }
+}
@@ -0,0 +1,66 @@
+package boardgames;
+
+// The result of a search: the score of the position, the best move found, the depth it was searched to
+// and optionally the statistics of the search and its principal variation.
+// Only the root of a search creates one; the nodes below it pass their scores back as plain ints.
+public class SearchResult {
+
+    private final int score;  // Positive is good for "X", negative is good for "O"
+    private final int move;   // -1 if the position has no moves (the game is over) or the depth was 0
+    private final int depth;
+    private final SearchStats stats;  // null if the search did not collect statistics
+    private final int[] principalVariation;  // Expected line starting with move (null if the search did not keep it)
+
+    public SearchResult(int score, int move, int depth) {
+        this(score, move, depth, null);
+    }
+
+    public SearchResult(int score, int move, int depth, SearchStats stats) {
+        this(score, move, depth, stats, null);
+    }
+
+    public SearchResult(int score, int move, int depth, SearchStats stats, int[] principalVariation) {
+        this.score = score;
+        this.move = move;
+        this.depth = depth;
+        this.stats = stats;
+        this.principalVariation = principalVariation;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    // Returns the principal variation as moves separated by spaces, or "" if there is none
+    public String getPrincipalVariationText() {
+        if (principalVariation == null) return "";
+        StringBuilder text = new StringBuilder();
+        for (int pvMove : principalVariation) {
+            if (text.length() > 0) text.append(' ');
+            text.append(pvMove);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "score " + score + ", move " + move + ", depth " + depth
+                + (principalVariation != null ? ", PV " + getPrincipalVariationText() : "") + (stats != null ? ", " + stats : "");
+    }
+}
@@ -0,0 +1,92 @@
+package boardgames;
+
+// Counters collected while the AI searches for a move, so slow moves can be explained and the
+// difficulty budgets can be tuned from real numbers. Each board counts its own search; ParallelSearch
+// adds the counts of its worker clones to the root board's statistics.
+public class SearchStats {
+
+    private long nodes;             // Positions visited
+    private long betaCutoffs;       // Nodes where a move made the rest of the moves irrelevant
+    private long firstMoveCutoffs;  // Cutoffs caused by the first move searched (a sign of good move ordering)
+    private long researches;        // Moves searched again after beating a null window (principal variation search)
+    private long leafEvaluations;   // Positions scored with evaluateBoard (game over or depth 0)
+    private long tableProbes;       // Transposition table lookups
+    private long tableHits;         // Lookups that found the position
+    private int maxPly;             // Deepest ply reached below the root
+    private long elapsedNanos;      // Wall-clock time of the whole search (set by IterativeDeepening)
+
+    // Called by the search as it runs
+    void countNode(int ply) {
+        nodes++;
+        if (ply > maxPly) maxPly = ply;
+    }
+
+    void countResearch() {
+        researches++;
+    }
+
+    void countLeaf() {
+        leafEvaluations++;
+    }
+
+    void countCutoff(boolean firstMove) {
+        betaCutoffs++;
+        if (firstMove) firstMoveCutoffs++;
+    }
+
+    void countTableProbe(boolean hit) {
+        tableProbes++;
+        if (hit) tableHits++;
+    }
+
+    // Adds the counts of another search (e.g. one thread of a parallel search) to these.
+    // It is synchronized because the threads of a parallel search finish at the same time.
+    public synchronized void add(SearchStats other) {
+        nodes += other.nodes;
+        betaCutoffs += other.betaCutoffs;
+        firstMoveCutoffs += other.firstMoveCutoffs;
+        researches += other.researches;
+        leafEvaluations += other.leafEvaluations;
+        tableProbes += other.tableProbes;
+        tableHits += other.tableHits;
+        maxPly = Math.max(maxPly, other.maxPly);
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getNodes() { return nodes; }
+    public long getBetaCutoffs() { return betaCutoffs; }
+    public long getFirstMoveCutoffs() { return firstMoveCutoffs; }
+    public long getResearches() { return researches; }
+    public long getLeafEvaluations() { return leafEvaluations; }
+    public long getTableProbes() { return tableProbes; }
+    public long getTableHits() { return tableHits; }
+    public int getMaxPly() { return maxPly; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    // Fraction of cutoffs caused by the first move searched (0.0 to 1.0)
+    public double getFirstMoveCutoffRate() {
+        return betaCutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / betaCutoffs;
+    }
+
+    // Fraction of transposition table lookups that found the position (0.0 to 1.0)
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0.0 : (double) tableHits / tableProbes;
+    }
+
+    // Nodes visited per second of elapsed time
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d nodes in %.1f ms (%,.0f nodes/s), max ply %d, %,d cutoffs (%.1f%% first move), "
+                        + "%,d leaf evals, TT hits %,d/%,d (%.1f%%)%s",
+                nodes, elapsedNanos / 1e6, getNodesPerSecond(), maxPly, betaCutoffs, getFirstMoveCutoffRate() * 100,
+                leafEvaluations, tableHits, tableProbes, getTableHitRate() * 100,
+                researches > 0 ? String.format(", %,d re-searches", researches) : "");
+    }
+}
@@ -0,0 +1,218 @@
+package boardgames;
+
+import java.util.Random;
+
+// The 3 x 3 board of Tic Tac Toe, kept as one 9-bit mask per player so a win is a single table lookup.
+// It also tracks the position under all 8 symmetries, which TicTacToeTable and the transposition table use.
+public class TicTacToeBoard extends GridBoard {
+    // Mask with one bit set for each of the 9 cells
+    private static final int FULL_BOARD = 0x1FF;
+
+    // The 8 winning lines (3 rows, 3 columns, 2 diagonals) as 9-bit masks
+    private static final int[] WIN_LINES = {
+        0b000000111, 0b000111000, 0b111000000,  // Rows
+        0b001001001, 0b010010010, 0b100100100,  // Columns
+        0b100010001, 0b001010100                // Diagonals
+    };
+
+    // Lookup table: WIN_TABLE[mask] is true if the 9-bit mask contains a winning line
+    private static final boolean[] WIN_TABLE = new boolean[FULL_BOARD + 1];
+
+    static {
+        // Precompute the win status of every possible set of marks once, when the class is loaded
+        for (int mask = 0; mask <= FULL_BOARD; mask++) {
+            for (int line : WIN_LINES) {
+                if ((mask & line) == line) {
+                    WIN_TABLE[mask] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    // Zobrist keys: one random number per player per space, XOR-ed into the hash as marks are placed
+    // A fixed seed keeps hashes identical between runs.
+    private static final long[][] ZOBRIST_KEYS = new long[2][9];
+
+    static {
+        Random random = new Random(0x5449435441434L);
+        for (int player = 0; player < 2; player++) {
+            for (int space = 0; space < 9; space++) {
+                ZOBRIST_KEYS[player][space] = random.nextLong();
+            }
+        }
+    }
+
+    // The 8 symmetries of the board (the dihedral group of the square): SYMMETRIES[s][cell] is where symmetry s
+    // moves a cell (0-8). 0 is the identity, 1-3 rotate by 90, 180 and 270 degrees clockwise, 4 and 5 mirror
+    // left-right and top-bottom, and 6 and 7 mirror along the two diagonals. INVERSE_SYMMETRIES undoes them.
+    public static final int SYMMETRY_COUNT = 8;
+    private static final int[][] SYMMETRIES = new int[SYMMETRY_COUNT][9];
+    private static final int[][] INVERSE_SYMMETRIES = new int[SYMMETRY_COUNT][9];
+
+    static {
+        for (int cell = 0; cell < 9; cell++) {
+            int r = cell / 3;
+            int c = cell % 3;
+            int[][] images = {
+                { r, c }, { c, 2 - r }, { 2 - r, 2 - c }, { 2 - c, r },
+                { r, 2 - c }, { 2 - r, c }, { c, r }, { 2 - c, 2 - r }
+            };
+            for (int s = 0; s < SYMMETRY_COUNT; s++) {
+                SYMMETRIES[s][cell] = images[s][0] * 3 + images[s][1];
+                INVERSE_SYMMETRIES[s][SYMMETRIES[s][cell]] = cell;
+            }
+        }
+    }
+
+    // The marks of each player as 9-bit masks
+    // Bit (space - 1) is set when the player owns that space, so bit 0 is the top-left corner
+    private int xBits;
+    private int oBits;
+
+    // Zobrist hash of the position under each symmetry (hashes[0] is the position as it is),
+    // updated on every move and undo
+    private long[] hashes = new long[SYMMETRY_COUNT];
+
+    // Base-3 index of the position under each symmetry (digit space-1 is 0 empty, 1 "X", 2 "O").
+    // The orientation with the smallest index is the canonical form, which TicTacToeTable and the
+    // transposition table key on, so the 8 orientations of a position share one entry.
+    private static final int[] POWERS_OF_THREE = { 1, 3, 9, 27, 81, 243, 729, 2187, 6561 };
+    private int[] positionIndexes = new int[SYMMETRY_COUNT];
+
+    // Default constructor, initializes an empty board
+    public TicTacToeBoard() {
+        super(3, 3);
+    }
+
+    // Private constructor to create a new TicTacToeBoard from an existing board state
+    private TicTacToeBoard(TicTacToeBoard other) {
+        super(other);  // The move history and the result
+        this.xBits = other.xBits;
+        this.oBits = other.oBits;
+        this.hashes = other.hashes.clone();
+        this.positionIndexes = other.positionIndexes.clone();
+    }
+
+    // Getter method to return the current board layout (2D array of Strings)
+    // The layout is built from the bitmasks on demand, so it should only be called by the UI.
+    public String[][] getBoardLayout() {
+        String[][] layout = new String[3][3];
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                int bit = 1 << (row * 3 + col);
+                if ((xBits & bit) != 0) layout[row][col] = "X";
+                else if ((oBits & bit) != 0) layout[row][col] = "O";
+                else layout[row][col] = " ";
+            }
+        }
+        return layout;
+    }
+
+    // Create and return a new TicTacToeBoard object that is a clone of the current board
+    public Board cloneBoard() {
+        return new TicTacToeBoard(this);  // Clone the board by copying its state
+    }
+
+    // Writes the available moves into the array and returns how many there are
+    // An available move is any empty space on the board
+    public int generateMoves(int[] moves) {
+        int count = 0;
+
+        // Walk the set bits of the empty-cell mask, lowest space first
+        int empty = ~(xBits | oBits) & FULL_BOARD;
+        while (empty != 0) {
+            // Store the move as a 1-indexed position (1-9) instead of 0-indexed
+            moves[count++] = Integer.numberOfTrailingZeros(empty) + 1;
+            empty &= empty - 1;  // Clear the lowest set bit
+        }
+
+        return count;  // Return the number of available moves
+    }
+
+    // Static move ordering for the search: the centre first, then the corners, then the edges
+    protected int staticMoveScore(int space) {
+        if (space == 5) return 2;
+        return space % 2 == 1 ? 1 : 0;  // Corners are the odd spaces other than the centre
+    }
+
+    // Returns true if the space with bit index cell (0-8) is empty
+    protected boolean isEmpty(int cell) {
+        return ((xBits | oBits) & (1 << cell)) == 0;
+    }
+
+    // Sets the mark's bit; the new mask completes a line if it contains one of the 8 winning lines
+    protected boolean placeMark(int cell, boolean isX) {
+        int bit = 1 << cell;
+        if (isX) {
+            xBits |= bit;
+        } else {
+            oBits |= bit;
+        }
+        updateKeys(cell, isX, 1);
+        return WIN_TABLE[isX ? xBits : oBits];
+    }
+
+    protected void removeMark(int cell) {
+        int bit = 1 << cell;
+        updateKeys(cell, (xBits & bit) != 0, -1);
+        xBits &= ~bit;  // Only one of the two masks has the bit set, so clearing both is safe
+        oBits &= ~bit;
+    }
+
+    // Adds (change = 1) or removes (change = -1) a mark in the hash and position index of every orientation
+    private void updateKeys(int cell, boolean isX, int change) {
+        int player = isX ? 0 : 1;
+        int digit = (isX ? 1 : 2) * change;
+        for (int s = 0; s < SYMMETRY_COUNT; s++) {
+            int image = SYMMETRIES[s][cell];
+            hashes[s] ^= ZOBRIST_KEYS[player][image];
+            positionIndexes[s] += digit * POWERS_OF_THREE[image];
+        }
+    }
+
+    // Returns the base-3 index of the position (0 to 19682)
+    public int getPositionIndex() {
+        return positionIndexes[0];
+    }
+
+    // Returns the base-3 index of the canonical form, the same for all 8 orientations of the position
+    public int getCanonicalPositionIndex() {
+        return positionIndexes[getCanonicalSymmetry()];
+    }
+
+    // The canonical form is the orientation with the smallest position index (the first one on a tie)
+    public int getCanonicalSymmetry() {
+        int best = 0;
+        for (int s = 1; s < SYMMETRY_COUNT; s++) {
+            if (positionIndexes[s] < positionIndexes[best]) best = s;
+        }
+        return best;
+    }
+
+    public long getCanonicalHash() {
+        return hashes[getCanonicalSymmetry()];
+    }
+
+    // Maps a space (1-9) to where the symmetry moves it, and back
+    public int toCanonicalMove(int space, int symmetry) {
+        return SYMMETRIES[symmetry][space - 1] + 1;
+    }
+
+    public int fromCanonicalMove(int space, int symmetry) {
+        return INVERSE_SYMMETRIES[symmetry][space - 1] + 1;
+    }
+
+    // Returns the Zobrist hash of the current position
+    public long getHash() {
+        return hashes[0];
+    }
+
+    // Evaluates the board's state for use in algorithms (such as minimax)
+    // Returns 1 if player "X" has won, -1 if player "O" has won, and 0 for a draw or ongoing game
+    public int evaluateBoard() {
+        if (getWinner() == X_WINNER) return 1;  // X has won
+        else if (getWinner() == O_WINNER) return -1;  // O has won
+        else return 0;  // No winner, game is ongoing or a draw
+    }
+}
@@ -1,17 +1,31 @@
+package boardgames;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TicTacToeGame {
     private TicTacToeBoard board;  // Game board (model) for TicTacToe
     private JFrame frame;          // Main window frame for the game
-    private JButton[][] buttons;   // Buttons representing the TicTacToe grid
+    private BoardPanel boardPanel; // Component that paints the TicTacToe grid and takes the clicks
     private String currentPlayer;  // Holds the current player ("X" or "O")
     private int xWins, oWins, draws; // Tracking wins and draws for both players
     private JLabel scoreLabel;     // Label to display the current score
     private String gameMode;      // Game mode: "Player vs Player" or "Player vs AI"
     private int aiDifficulty;     // AI difficulty level (1 to 10)
+    private Random random;        // Picks between equally good AI moves (seed it with -Dai.seed=...)
+    private SwingWorker<SearchResult, Void> aiWorker; // Background task computing the AI's move (null when the AI is not thinking)
+    private AtomicBoolean aiCancelFlag;  // Set to cancel the AI search that is running
+    private boolean monteCarlo;   // Whether the AI uses Monte Carlo tree search instead of the solved minimax table
+    private MonteCarloTreeSearch monteCarloSearch; // The Monte Carlo engine, which keeps its tree between moves (null until chosen)
+    private GameJournal journal;            // Where finished games are saved (null when -Dgame.journal= turns it off)
+    private GameJournal.Recording journalGame; // Moves of the game being played (null until its first move)
+
+    private JTextArea debugText;  // Statistics of the AI's last move (null unless -Dai.debug=true)
 
     public TicTacToeGame(Point location) {
         // Initial setup for the game frame and components
@@ -20,6 +34,13 @@ public class TicTacToeGame {
         frame.setLayout(new BorderLayout()); // Use BorderLayout to arrange components
         frame.setLocation(location); // Set the window location on screen
 
+        // Randomness for the AI's choice between equally good moves (seed it with -Dai.seed=...)
+        Long seed = Long.getLong("ai.seed");
+        random = seed != null ? new Random(seed) : new Random();
+
+        // Save every game to the journal (path can be changed with -Dgame.journal=...)
+        journal = GameJournal.getDefault();
+
         // Panel for game mode selection
         JPanel modePanel = new JPanel(new GridLayout(1, 2));
         
@@ -39,7 +60,7 @@ public class TicTacToeGame {
             @Override
             public void actionPerformed(ActionEvent e) {
                 gameMode = "AI";  // Set game mode to Player vs AI
-                promptAIDifficulty(); // Ask the user to choose AI difficulty
+                promptAIEngine(); // Ask the user to choose the AI engine and difficulty
             }
         });
 
@@ -54,6 +75,26 @@ public class TicTacToeGame {
         frame.setVisible(true);    // Make the frame visible
     }
 
+    private void promptAIEngine() {
+        // Ask which engine the AI uses: the solved minimax table or Monte Carlo tree search
+        String[] engines = { "Minimax", "Monte Carlo" };
+        int choice = JOptionPane.showOptionDialog(frame, "Choose the AI engine:", "AI Engine",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, engines, engines[0]);
+
+        // If user closes the dialog, return to main menu
+        if (choice == JOptionPane.CLOSED_OPTION) {
+            resetToMenu();
+            return;
+        }
+        monteCarlo = choice == 1;
+        // The engine owns a thread pool, so it is only created once it is chosen. It runs playouts
+        // on every core unless a thread count is given with -Dai.threads=...
+        if (monteCarlo && monteCarloSearch == null) {
+            monteCarloSearch = new MonteCarloTreeSearch(Integer.getInteger("ai.threads", Runtime.getRuntime().availableProcessors()));
+        }
+        promptAIDifficulty();
+    }
+
     private void promptAIDifficulty() {
         // Prompt the user for the difficulty level for the AI (1 - 10)
         String input = JOptionPane.showInputDialog(frame, 
@@ -85,7 +126,6 @@ public class TicTacToeGame {
     private void initializeGame() {
         // Initialize game components after the mode has been selected
         board = new TicTacToeBoard();
-        buttons = new JButton[3][3];  // Initialize the 3x3 grid of buttons
         currentPlayer = "X";  // Player X starts the game
         xWins = 0;
         oWins = 0;
@@ -102,34 +142,17 @@ public class TicTacToeGame {
         // Add the score label to the top of the frame
         frame.add(scoreLabel, BorderLayout.NORTH);
 
-        // Panel for the TicTacToe grid
-        JPanel gamePanel = new JPanel(new GridLayout(3, 3));
-
-        // Initialize the buttons for the TicTacToe grid
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
-                buttons[row][col] = new JButton(" ");  // Empty cell initially
-                buttons[row][col].setFont(new Font("Arial", Font.PLAIN, 60));  // Large font
-                buttons[row][col].setFocusPainted(false);
-                buttons[row][col].setBackground(Color.WHITE);
-
-                // Add ActionListener for each button to handle click events
-                final int r = row;
-                final int c = col;
-                buttons[row][col].addActionListener(new ActionListener() {
-                    @Override
-                    public void actionPerformed(ActionEvent e) {
-                        onCellClicked(r, c);
-                    }
-                });
-
-                // Add the button to the game panel
-                gamePanel.add(buttons[row][col]);
+        // Panel for the 3x3 TicTacToe grid, which reports the clicked cell
+        boardPanel = new BoardPanel(3, 3, BoardPanel.Style.MARKS);
+        boardPanel.setCellListener(new BoardPanel.CellListener() {
+            @Override
+            public void cellClicked(int row, int col) {
+                onCellClicked(row, col);
             }
-        }
+        });
 
         // Add the game panel to the frame
-        frame.add(gamePanel, BorderLayout.CENTER);
+        frame.add(boardPanel, BorderLayout.CENTER);
 
         frame.setSize(500, 500);  // Increase the window size for the game
         frame.setVisible(true);    // Make the game window visible
@@ -143,7 +166,20 @@ public class TicTacToeGame {
             }
         });
 
-        frame.add(backToMenuButton, BorderLayout.SOUTH);
+        // With -Dai.debug=true, show the statistics of the AI's last move in a strip above the button
+        if (Boolean.getBoolean("ai.debug")) {
+            debugText = new JTextArea("The AI's search statistics appear here after its move.");
+            debugText.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            debugText.setEditable(false);
+            debugText.setLineWrap(true);       // Wrap long lines to the window's width
+            debugText.setWrapStyleWord(true);
+            JPanel southPanel = new JPanel(new BorderLayout());
+            southPanel.add(debugText, BorderLayout.NORTH);
+            southPanel.add(backToMenuButton, BorderLayout.SOUTH);
+            frame.add(southPanel, BorderLayout.SOUTH);
+        } else {
+            frame.add(backToMenuButton, BorderLayout.SOUTH);
+        }
 
         // Start the game loop if AI mode is selected and it's AI's turn
         if (gameMode.equalsIgnoreCase("AI") && currentPlayer.equals("O")) {
@@ -152,6 +188,9 @@ public class TicTacToeGame {
     }
 
     private void resetToMenu() {
+        cancelAIMove();  // Stop any AI search that is still running
+        finishJournalGame();  // Save the game that was left, if any
+
         // Reset the game to the main menu
         frame.getContentPane().removeAll();
         frame.setLayout(new BorderLayout());
@@ -175,7 +214,7 @@ public class TicTacToeGame {
             @Override
             public void actionPerformed(ActionEvent e) {
                 gameMode = "AI";
-                promptAIDifficulty();  // Ask for AI difficulty
+                promptAIEngine();  // Ask for the AI engine and difficulty
             }
         });
 
@@ -186,17 +225,22 @@ public class TicTacToeGame {
         frame.setSize(400, 200);
         frame.setVisible(true);
 
+        // Stop the Monte Carlo engine's worker threads, since this game window is going away
+        if (monteCarloSearch != null) monteCarloSearch.shutdown();
+
         // Dispose of the current frame and create a new GameMenu instance
         frame.dispose();
         new GameMenu(frame.getLocation());
     }
 
     private void onCellClicked(int row, int col) {
+        if (aiWorker != null) return;  // Ignore clicks while the AI is thinking
         int space = row * 3 + col + 1;
 
         // Set the space on the board for the current player
         if (board.setSpace(space, currentPlayer)) {
-            buttons[row][col].setText(currentPlayer);
+            recordMove(space);
+            boardPanel.setCell(row, col, currentPlayer);
 
             // Check if the current player has won
             if (board.hasWon(currentPlayer)) {
@@ -220,16 +264,47 @@ public class TicTacToeGame {
     }
 
     private void aiMove() {
-        // Perform AI's move using the Minimax algorithm
-        int[] bestMove = board.minimax(false, aiDifficulty, Integer.MIN_VALUE, Integer.MAX_VALUE);
-        int bestMovePosition = bestMove[1];
+        // Look the AI's move up in the solved Tic Tac Toe table. The table is built the first time it is
+        // used, so the lookup runs on a background thread and the move is applied on the event dispatch thread
+        TicTacToeBoard lookupBoard = (TicTacToeBoard) board.cloneBoard();  // The background thread never touches the UI's board
+
+        AtomicBoolean cancelFlag = new AtomicBoolean();
+        aiCancelFlag = cancelFlag;
+
+        aiWorker = new SwingWorker<SearchResult, Void>() {
+            @Override
+            protected SearchResult doInBackground() {
+                // The Monte Carlo engine searches instead, within the difficulty's playout budget
+                if (monteCarlo) return monteCarloSearch.searchForDifficulty(lookupBoard, false, aiDifficulty, cancelFlag);
+                return TicTacToeTable.chooseMove(lookupBoard, aiDifficulty, random);
+            }
+
+            @Override
+            protected void done() {
+                if (aiWorker != this || isCancelled()) return;  // The game was reset or left while the AI was thinking
+                aiWorker = null;
+                try {
+                    SearchResult result = get();
+                    showSearchStats(result);
+                    applyAIMove(result.getMove());
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();  // The lookup failed; give the turn back to the player
+                    currentPlayer = "X";
+                }
+            }
+        };
+        aiWorker.execute();
+    }
+
+    private void applyAIMove(int bestMovePosition) {
         int[] rowAndCol = board.getSpotOnBoard(bestMovePosition);
         int row = rowAndCol[0];
         int col = rowAndCol[1];
     
-        // Perform the move and update the button text
+        // Perform the move and paint the new mark
         board.setSpace(bestMovePosition, "O");
-        buttons[row][col].setText("O");
+        recordMove(bestMovePosition);
+        boardPanel.setCell(row, col, "O");
     
         // Check if the AI won or if it's a draw
         if (board.hasWon("O")) {
@@ -247,16 +322,47 @@ public class TicTacToeGame {
         }
     }
 
+    // Log the AI's move with its search statistics and show them in the debug strip (only with -Dai.debug=true)
+    private void showSearchStats(SearchResult result) {
+        if (debugText == null) return;
+        String text = "AI move " + result.getMove() + ", score " + result.getScore() + ", depth " + result.getDepth()
+                + ": " + result.getStats();
+        System.out.println(text);
+        debugText.setText(text);
+    }
+
+    private void cancelAIMove() {
+        // Cancel the AI's search if it is running; its result will be ignored
+        if (aiWorker != null) {
+            aiCancelFlag.set(true);  // Makes a Monte Carlo search stop at once
+            aiWorker.cancel(false);
+            aiWorker = null;
+        }
+    }
+
     private void resetGame() {
-        // Reset the board and buttons for a new round
+        cancelAIMove();  // Stop any AI search for the old board
+        finishJournalGame();  // Save the old game with its result
+
+        // Reset the board and the grid for a new round
         board = new TicTacToeBoard();
         currentPlayer = "X";  // Reset to player "X"
 
-        // Clear the button texts
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
-                buttons[row][col].setText(" ");
-            }
+        boardPanel.clear();  // Clear the marks
+    }
+
+    // Add a move to the journal, starting the game's recording with its first move
+    private void recordMove(int move) {
+        if (journal == null) return;
+        if (journalGame == null) journalGame = journal.startGame(GameJournal.TIC_TAC_TOE);
+        journalGame.addMove(move);
+    }
+
+    // Save the game to the journal with its result (unfinished if it was left before the end)
+    private void finishJournalGame() {
+        if (journalGame != null) {
+            journalGame.finish(GameJournal.resultOf(board));
+            journalGame = null;
         }
     }
 
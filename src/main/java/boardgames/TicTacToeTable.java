@@ -0,0 +1,119 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+// A solved table of Tic Tac Toe: the exact value and best move of every position reachable from
+// the empty board ("X" moves first). It is built once when the class is loaded, which takes a few
+// milliseconds, so the AI can pick its move with lookups instead of running minimax every turn.
+// Rotations and mirror images of a position play the same, so the table only holds canonical forms
+// (indexed by TicTacToeBoard.getCanonicalPositionIndex()), with the best moves in the canonical orientation.
+public class TicTacToeTable {
+
+    private static final int POSITIONS = 19683;           // 3^9 possible boards, most of them unreachable
+    private static final byte UNREACHABLE = Byte.MIN_VALUE;
+
+    // Value of each position with perfect play: 1 if "X" wins, -1 if "O" wins, 0 for a draw
+    private static final byte[] VALUES = new byte[POSITIONS];
+
+    // Best move (1-9) in the canonical orientation for the player to move in each position, or 0 if the game is over
+    private static final byte[] BEST_MOVES = new byte[POSITIONS];
+
+    private static int reachablePositions;  // Distinct up to symmetry
+
+    // One move buffer per number of marks on the board, so solve does not allocate
+    private static final int[][] MOVE_BUFFERS = new int[10][9];
+
+    static {
+        Arrays.fill(VALUES, UNREACHABLE);
+        solve(new TicTacToeBoard(), true);
+    }
+
+    // Solves a position with plain minimax, reusing the results of positions already in the table
+    private static int solve(TicTacToeBoard board, boolean xToMove) {
+        int index = board.getCanonicalPositionIndex();
+        if (VALUES[index] != UNREACHABLE) return VALUES[index];
+        reachablePositions++;
+
+        int value;
+        int bestMove = 0;
+        if (board.gameIsOver()) {
+            value = board.evaluateBoard();
+        } else {
+            value = xToMove ? -2 : 2;  // Worse than any real result
+            int[] moves = MOVE_BUFFERS[board.getMoveCount()];
+            int moveCount = board.generateMoves(moves);
+            for (int i = 0; i < moveCount; i++) {
+                int move = moves[i];
+                board.makeMove(move, xToMove ? "X" : "O");
+                int childValue = solve(board, !xToMove);
+                board.undoMove();
+                if (xToMove ? childValue > value : childValue < value) {
+                    value = childValue;
+                    bestMove = move;
+                }
+            }
+        }
+
+        VALUES[index] = (byte) value;
+        BEST_MOVES[index] = (byte) (bestMove == 0 ? 0 : board.toCanonicalMove(bestMove, board.getCanonicalSymmetry()));
+        return value;
+    }
+
+    // Returns the value of the position with perfect play (1 "X" wins, -1 "O" wins, 0 draw)
+    public static int getValue(TicTacToeBoard board) {
+        return VALUES[board.getCanonicalPositionIndex()];
+    }
+
+    // Returns the best move (1-9) for the player to move, or -1 if the game is over
+    public static int getBestMove(TicTacToeBoard board) {
+        int move = BEST_MOVES[board.getCanonicalPositionIndex()];
+        return move == 0 ? -1 : board.fromCanonicalMove(move, board.getCanonicalSymmetry());
+    }
+
+    // Number of positions reachable from the empty board, counting each set of symmetric positions once
+    // (all of them are in the table)
+    public static int getReachablePositions() {
+        return reachablePositions;
+    }
+
+    // Chooses a move for the player to move at an AI difficulty level (1-10).
+    // Level 10 always plays a best move. Lower levels play a deliberately weaker move (one that
+    // gives up a win or a draw) with probability (10 - difficulty) / 10, when such a move exists.
+    // Between equally good moves the choice is random (or the first one if random is null).
+    // Returns the move (-1 if the game is over) with the value of the position after it. The table is
+    // exact, so the depth is the number of empty spaces; the statistics count the table lookups as nodes.
+    public static SearchResult chooseMove(TicTacToeBoard board, int difficulty, Random random) {
+        long start = System.nanoTime();
+        SearchStats stats = new SearchStats();
+        int depth = 9 - board.getMoveCount();
+        if (board.gameIsOver()) return new SearchResult(getValue(board), -1, depth, stats);
+        boolean xToMove = board.getMoveCount() % 2 == 0;
+        int bestValue = getValue(board);
+        stats.countNode(0);
+        stats.countTableProbe(true);
+
+        // Split the moves by whether they keep the position's value
+        ArrayList<Integer> bestMoves = new ArrayList<>();
+        ArrayList<Integer> weakerMoves = new ArrayList<>();
+        for (int move : board.availableMoves()) {
+            board.makeMove(move, xToMove ? "X" : "O");
+            int value = getValue(board);
+            board.undoMove();
+            stats.countNode(1);
+            stats.countTableProbe(true);
+            if (value == bestValue) bestMoves.add(move);
+            else weakerMoves.add(move);
+        }
+
+        boolean makeMistake = !weakerMoves.isEmpty() && random != null && random.nextInt(10) >= difficulty;
+        ArrayList<Integer> choices = makeMistake ? weakerMoves : bestMoves;
+        int move = choices.get(random == null ? 0 : random.nextInt(choices.size()));
+        board.makeMove(move, xToMove ? "X" : "O");
+        int value = getValue(board);
+        board.undoMove();
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return new SearchResult(value, move, depth, stats);
+    }
+}
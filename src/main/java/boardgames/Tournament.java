@@ -0,0 +1,374 @@
+package boardgames;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Plays engine-vs-engine games without the GUI to measure the strength and speed of two AI settings.
+// Games are played in pairs from the same random opening, once with each engine as "X", and the pairs
+// run in parallel on all cores. After each pair it updates the win/draw/loss count of engine A, the
+// average move time and nodes/sec of both engines, an Elo estimate and an SPRT test. It stops early
+// once the SPRT decides whether A is stronger than B.
+//
+// Usage: java boardgames.Tournament [options]
+//   --game=connect4|tictactoe|gomoku|<Board class name>  Game to play (default connect4)
+//   --a=<settings> --b=<settings>  Search settings of engines A and B, as comma-separated
+//                                  depth=N, time=MS, nodes=N, search=alphabeta|pvs|mcts,
+//                                  playouts=N (mcts) and solve=N (Connect Four: solve exactly
+//                                  from N empty cells) (default depth=6 and alphabeta for both)
+//   --games=N          Maximum number of games, rounded up to an even number (default 1000)
+//   --opening-plies=N  Random moves played before the engines take over (default 4)
+//   --seed=N           Seed for the random openings (default 1)
+//   --threads=N        Games played at the same time (default: one per core)
+//   --tt-mb=N          Transposition table size per engine and thread (default 16)
+//   --sprt=ELO0,ELO1   SPRT hypotheses: A is ELO0 stronger (H0) or ELO1 stronger (H1) (default 0,20)
+public class Tournament {
+
+    // SPRT error rates: chance of accepting H1 when H0 is true, and H0 when H1 is true
+    private static final double SPRT_ALPHA = 0.05;
+    private static final double SPRT_BETA = 0.05;
+
+    // The SPRT uses a normal approximation of the score, which is too confident over a handful of games
+    private static final int SPRT_MIN_GAMES = 20;
+
+    // Search settings of one engine. A limit of 0 means no limit; at least one must be set.
+    static class EngineSettings {
+        int depth;
+        long timeMillis;
+        long nodes;
+        boolean principalVariationSearch;  // PVS instead of plain alpha-beta
+        boolean monteCarlo;                // MonteCarloTreeSearch instead of minimax
+        long playouts;                     // Playout budget of the Monte Carlo search
+        int solveEmptyCells;               // Play ConnectFourSolver moves from this many empty cells (0 never)
+
+        static EngineSettings parse(String text) {
+            EngineSettings settings = new EngineSettings();
+            for (String part : text.split(",")) {
+                String[] keyValue = part.split("=");
+                if (keyValue.length != 2) throw new IllegalArgumentException("Expected name=value in engine settings: " + part);
+                switch (keyValue[0]) {
+                    case "depth": settings.depth = Integer.parseInt(keyValue[1]); break;
+                    case "time": settings.timeMillis = Long.parseLong(keyValue[1]); break;
+                    case "nodes": settings.nodes = Long.parseLong(keyValue[1]); break;
+                    case "search":
+                        if (!keyValue[1].equals("pvs") && !keyValue[1].equals("alphabeta") && !keyValue[1].equals("mcts")) {
+                            throw new IllegalArgumentException("Unknown search: " + keyValue[1]);
+                        }
+                        settings.principalVariationSearch = keyValue[1].equals("pvs");
+                        settings.monteCarlo = keyValue[1].equals("mcts");
+                        break;
+                    case "playouts": settings.playouts = Long.parseLong(keyValue[1]); break;
+                    case "solve": settings.solveEmptyCells = Integer.parseInt(keyValue[1]); break;
+                    default: throw new IllegalArgumentException("Unknown engine setting: " + keyValue[0]);
+                }
+            }
+            if (settings.monteCarlo && settings.playouts <= 0 && settings.timeMillis <= 0) {
+                throw new IllegalArgumentException("Monte Carlo settings need a playout or time limit: " + text);
+            }
+            if (!settings.monteCarlo && settings.depth <= 0 && settings.timeMillis <= 0 && settings.nodes <= 0) {
+                throw new IllegalArgumentException("Engine settings need a depth, time or node limit: " + text);
+            }
+            return settings;
+        }
+
+        // Chooses a move for the side to move with these settings. The transposition table set on the board,
+        // the solver and the Monte Carlo search belong to the caller (solver and monteCarloSearch are only
+        // used, and may only be null, when the settings do not ask for them). The statistics include the solver's
+        // nodes even when it gave up and the search played instead.
+        SearchResult chooseMove(Board board, boolean xToMove, ConnectFourSolver solver, MonteCarloTreeSearch monteCarloSearch,
+                                AtomicBoolean cancelFlag) {
+            if (monteCarlo) return monteCarloSearch.search(board, xToMove, playouts, timeMillis, cancelFlag);
+            SearchStats solverStats = null;
+            if (solveEmptyCells > 0
+                    && ConnectFourBoard.ROWS * ConnectFourBoard.COLUMNS - ((ConnectFourBoard) board).getMoveCount() <= solveEmptyCells) {
+                // Like ConnectFourGame: the search plays instead when the solver gives up or proves a loss
+                SearchResult solved = solver.solve((ConnectFourBoard) board, ConnectFourSolver.DEFAULT_NODE_LIMIT, cancelFlag);
+                if (solved != null && solved.getScore() != (xToMove ? -ConnectFourBoard.WIN_SCORE : ConnectFourBoard.WIN_SCORE)) return solved;
+                solverStats = solver.getStats();
+            }
+            int maxDepth = depth > 0 ? depth : Integer.MAX_VALUE;
+            SearchResult move = IterativeDeepening.search(board, xToMove, timeMillis, nodes, maxDepth);
+            if (solverStats != null) move.getStats().add(solverStats);
+            return move;
+        }
+
+        @Override
+        public String toString() {
+            String text = (depth > 0 ? "depth " + depth + " " : "") + (timeMillis > 0 ? timeMillis + " ms " : "")
+                    + (nodes > 0 ? nodes + " nodes " : "") + (principalVariationSearch ? "pvs " : "")
+                    + (monteCarlo ? "mcts " : "") + (playouts > 0 ? playouts + " playouts " : "")
+                    + (solveEmptyCells > 0 ? "solve " + solveEmptyCells : "");
+            return text.trim();
+        }
+    }
+
+    // Outcome of one pair of games, from engine A's point of view, and the work both engines did
+    static class PairResult {
+        int wins, draws, losses;
+        final long[] moves = new long[2];         // Moves played by A (index 0) and B (index 1)
+        final long[] searchNanos = new long[2];   // Time spent searching
+        final long[] nodes = new long[2];         // Nodes searched
+    }
+
+    private final String game;
+    private final EngineSettings[] engines;
+    private final int openingPlies;
+    private final long seed;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    // One transposition table per engine for each thread, cleared before every game
+    private final ThreadLocal<TranspositionTable[]> tables;
+
+    // One endgame solver per engine for each thread, created when an engine first uses it
+    private final ThreadLocal<ConnectFourSolver[]> solvers = ThreadLocal.withInitial(() -> new ConnectFourSolver[2]);
+
+    // One single-threaded Monte Carlo search per engine for each thread (the games already run in parallel),
+    // so each engine reuses its own tree between its moves
+    private final ThreadLocal<MonteCarloTreeSearch[]> monteCarloSearches = ThreadLocal.withInitial(() -> new MonteCarloTreeSearch[] {
+        new MonteCarloTreeSearch(1), new MonteCarloTreeSearch(1)
+    });
+    private final int ttMegabytes;
+
+    Tournament(String game, EngineSettings a, EngineSettings b, int openingPlies, long seed, int ttMegabytes) {
+        this.game = game;
+        this.engines = new EngineSettings[] { a, b };
+        this.openingPlies = openingPlies;
+        this.seed = seed;
+        this.ttMegabytes = ttMegabytes;
+        this.tables = ThreadLocal.withInitial(() -> new TranspositionTable[] {
+            new TranspositionTable(ttMegabytes), new TranspositionTable(ttMegabytes)
+        });
+        // Fail early if the game is unknown or cannot be solved
+        boolean solvable = createBoard(game) instanceof ConnectFourBoard;
+        if (!solvable && (a.solveEmptyCells > 0 || b.solveEmptyCells > 0)) {
+            throw new IllegalArgumentException("solve=N is only supported for Connect Four");
+        }
+    }
+
+    // Creates an empty board of the game: a short name or the class name of any Board subclass
+    // with a public no-argument constructor (classes in this package can be given without the package)
+    static Board createBoard(String game) {
+        switch (game) {
+            case "connect4": return new ConnectFourBoard();
+            case "tictactoe": return new TicTacToeBoard();
+            case "gomoku": return new MNKBoard();
+            default:
+                try {
+                    String className = game.contains(".") ? game : Board.class.getPackage().getName() + "." + game;
+                    return (Board) Class.forName(className).getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("Unknown game: " + game, e);
+                }
+        }
+    }
+
+    // Plays the random opening of a pair on an empty board and returns the number of moves played.
+    // The same pair index always gives the same opening. An opening that ends the game is taken back.
+    private int playOpening(Board board, int pairIndex) {
+        Random random = new Random(seed * 1_000_003 + pairIndex);
+        int plies = 0;
+        while (plies < openingPlies) {
+            ArrayList<Integer> moves = board.availableMoves();
+            board.makeMove(moves.get(random.nextInt(moves.size())), plies % 2 == 0 ? "X" : "O");
+            plies++;
+            if (board.gameIsOver()) {
+                board.undoMove();
+                return plies - 1;
+            }
+        }
+        return plies;
+    }
+
+    // Plays both games of a pair: A is "X" in the first and "O" in the second
+    PairResult playPair(int pairIndex) {
+        PairResult result = new PairResult();
+        for (int aSide = 0; aSide < 2 && !stopped.get(); aSide++) {
+            Board board = createBoard(game);
+            board.setCancelFlag(stopped);  // Stops the search as soon as the tournament is decided
+            int plies = playOpening(board, pairIndex);
+            int winner = playGame(board, plies % 2 == 0, aSide, result);  // 0 "X", 1 "O", -1 draw
+            if (winner == -1) result.draws++;
+            else if (winner == aSide) result.wins++;
+            else result.losses++;
+        }
+        return result;
+    }
+
+    // Plays a game to the end. aSide is the side engine A plays (0 "X", 1 "O").
+    // Each engine searches its own copy of the board, so their transposition tables, killer moves and
+    // history never mix. Returns the winning side (0 or 1) or -1 for a draw.
+    private int playGame(Board board, boolean xToMove, int aSide, PairResult result) {
+        TranspositionTable[] engineTables = tables.get();
+        Board[] engineBoards = new Board[2];
+        for (int engine = 0; engine < 2; engine++) {
+            engineTables[engine].clear();
+            engineBoards[engine] = board.cloneForSearch();
+            engineBoards[engine].setTranspositionTable(engineTables[engine]);
+            engineBoards[engine].setPrincipalVariationSearch(engines[engine].principalVariationSearch);
+        }
+        ConnectFourSolver[] engineSolvers = solvers.get();
+        for (int engine = 0; engine < 2; engine++) {
+            if (engines[engine].solveEmptyCells <= 0) continue;
+            if (engineSolvers[engine] == null) engineSolvers[engine] = new ConnectFourSolver(ttMegabytes);
+            else engineSolvers[engine].clear();
+        }
+        MonteCarloTreeSearch[] engineMonteCarlo = monteCarloSearches.get();
+        for (MonteCarloTreeSearch search : engineMonteCarlo) search.clear();
+
+        while (!board.gameIsOver() && !stopped.get()) {
+            int side = xToMove ? 0 : 1;
+            int engine = side == aSide ? 0 : 1;
+            EngineSettings settings = engines[engine];
+
+            long start = System.nanoTime();
+            SearchResult move = settings.chooseMove(engineBoards[engine], xToMove, engineSolvers[engine], engineMonteCarlo[engine], stopped);
+            result.nodes[engine] += move.getStats().getNodes();  // Playouts for the Monte Carlo search
+            result.searchNanos[engine] += System.nanoTime() - start;
+            result.moves[engine]++;
+
+            String symbol = xToMove ? "X" : "O";
+            board.makeMove(move.getMove(), symbol);
+            for (Board engineBoard : engineBoards) engineBoard.makeMove(move.getMove(), symbol);
+            xToMove = !xToMove;
+        }
+        if (board.hasWon("X")) return 0;
+        if (board.hasWon("O")) return 1;
+        return -1;
+    }
+
+    // Plays up to maxGames games on the given number of threads and prints the running and final results
+    void run(int maxGames, int threads, double elo0, double elo1) throws InterruptedException {
+        int pairs = (maxGames + 1) / 2;
+        System.out.printf("%s: A (%s) vs B (%s), up to %d games, %d opening plies, seed %d, %d threads%n",
+                game, engines[0], engines[1], pairs * 2, openingPlies, seed, threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<PairResult> completion = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < pairs; i++) {
+            final int pairIndex = i;
+            completion.submit(() -> playPair(pairIndex));
+        }
+
+        PairResult total = new PairResult();
+        double sprtLower = Math.log(SPRT_BETA / (1 - SPRT_ALPHA));
+        double sprtUpper = Math.log((1 - SPRT_BETA) / SPRT_ALPHA);
+        String decision = null;
+        long start = System.nanoTime();
+        try {
+            for (int done = 1; done <= pairs; done++) {
+                PairResult pair = completion.take().get();
+                total.wins += pair.wins;
+                total.draws += pair.draws;
+                total.losses += pair.losses;
+                for (int e = 0; e < 2; e++) {
+                    total.moves[e] += pair.moves[e];
+                    total.searchNanos[e] += pair.searchNanos[e];
+                    total.nodes[e] += pair.nodes[e];
+                }
+
+                double llr = sprtLogLikelihoodRatio(total.wins, total.draws, total.losses, elo0, elo1);
+                boolean enoughGames = total.wins + total.draws + total.losses >= SPRT_MIN_GAMES;
+                if (enoughGames && llr >= sprtUpper) decision = String.format("H1 accepted: A is at least %.0f Elo stronger", elo1);
+                else if (enoughGames && llr <= sprtLower) decision = String.format("H0 accepted: A is not %.0f Elo stronger", elo1);
+
+                if (decision != null || done == pairs || done % Math.max(1, pairs / 20) == 0) {
+                    System.out.printf("%5d games  W %d  D %d  L %d  Elo %s  LLR %.2f (%.2f, %.2f)%n",
+                            total.wins + total.draws + total.losses, total.wins, total.draws, total.losses,
+                            eloEstimate(total.wins, total.draws, total.losses), llr, sprtLower, sprtUpper);
+                }
+                if (decision != null) break;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed", e.getCause());
+        } finally {
+            stopped.set(true);  // Searches still running unwind and their pairs are dropped
+            executor.shutdownNow();
+        }
+
+        System.out.printf("Finished in %.1f s. %s%n", (System.nanoTime() - start) / 1e9,
+                decision != null ? decision : "SPRT undecided");
+        String[] names = { "A", "B" };
+        for (int e = 0; e < 2; e++) {
+            System.out.printf("%s (%s): %,d moves, %.2f ms per move, %,.0f nodes/s%n", names[e], engines[e], total.moves[e],
+                    total.moves[e] == 0 ? 0.0 : total.searchNanos[e] / 1e6 / total.moves[e],
+                    total.searchNanos[e] == 0 ? 0.0 : total.nodes[e] * 1e9 / total.searchNanos[e]);
+        }
+    }
+
+    // Expected score of a player who is elo points stronger than the opponent
+    private static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    // Elo difference of A over B with a 95% confidence interval, from the score percentage
+    static String eloEstimate(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0) return "n/a";
+        double score = (wins + 0.5 * draws) / games;
+        double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2) + losses * Math.pow(score, 2)) / games;
+        double margin = 1.96 * Math.sqrt(variance / games);
+        return String.format("%+.0f [%+.0f, %+.0f]", scoreToElo(score), scoreToElo(score - margin), scoreToElo(score + margin));
+    }
+
+    // Elo difference that gives the expected score (infinite for a score of 0 or 1)
+    private static double scoreToElo(double score) {
+        if (score <= 0) return Double.NEGATIVE_INFINITY;
+        if (score >= 1) return Double.POSITIVE_INFINITY;
+        return -400 * Math.log10(1 / score - 1) + 0.0;  // + 0.0 turns -0.0 into 0.0
+    }
+
+    // Log-likelihood ratio of H1 (A is elo1 stronger) against H0 (A is elo0 stronger), using the
+    // normal approximation of the per-game score. Returns 0 until the results have some spread.
+    static double sprtLogLikelihoodRatio(int wins, int draws, int losses, double elo0, double elo1) {
+        int games = wins + draws + losses;
+        if (games == 0) return 0;
+        double score = (wins + 0.5 * draws) / games;
+        double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2) + losses * Math.pow(score, 2)) / games;
+        if (variance == 0) return 0;
+        double s0 = expectedScore(elo0);
+        double s1 = expectedScore(elo1);
+        return games * (s1 - s0) * (2 * score - s0 - s1) / (2 * variance);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String game = "connect4";
+        EngineSettings a = EngineSettings.parse("depth=6");
+        EngineSettings b = EngineSettings.parse("depth=6");
+        int games = 1000;
+        int openingPlies = 4;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int ttMegabytes = 16;
+        double elo0 = 0, elo1 = 20;
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals == -1) throw new IllegalArgumentException("Expected --option=value: " + arg);
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "game": game = value; break;
+                case "a": a = EngineSettings.parse(value); break;
+                case "b": b = EngineSettings.parse(value); break;
+                case "games": games = Integer.parseInt(value); break;
+                case "opening-plies": openingPlies = Integer.parseInt(value); break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "threads": threads = Integer.parseInt(value); break;
+                case "tt-mb": ttMegabytes = Integer.parseInt(value); break;
+                case "sprt":
+                    String[] bounds = value.split(",");
+                    elo0 = Double.parseDouble(bounds[0]);
+                    elo1 = Double.parseDouble(bounds[1]);
+                    break;
+                default: throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        new Tournament(game, a, b, openingPlies, seed, ttMegabytes).run(games, Math.max(1, threads), elo0, elo1);
+    }
+}
@@ -0,0 +1,116 @@
+package boardgames;
+
+import java.util.Arrays;
+
+// A fixed-size hash table that remembers the results of positions already searched by Board.minimax.
+// Positions are identified by their Zobrist hash. Each entry stores the searched depth, the score,
+// whether the score is exact or only a lower/upper bound, and the best move that was found.
+public class TranspositionTable {
+
+    // Bound types stored with each score
+    public static final int EXACT = 0;        // The score is the exact minimax value
+    public static final int LOWER_BOUND = 1;  // The real value is at least the score (the search failed high)
+    public static final int UPPER_BOUND = 2;  // The real value is at most the score (the search failed low)
+
+    // Default size used by the games when no size is given
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    // Each entry is two longs: the key (XOR-ed with the data) and the packed data
+    private static final int BYTES_PER_ENTRY = 16;
+
+    // Layout of the packed data long:
+    // bits 0-31 score, bits 32-39 depth, bits 40-41 bound, bits 42-57 move + 1, bits 58-63 search generation
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+    private static final int GENERATION_SHIFT = 58;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int indexMask;    // Table size is a power of two, so the index is hash & indexMask
+    private int generation;         // Incremented per search so entries from old searches can be replaced
+
+    // Counters so the hit rate can be checked when choosing a table size
+    // (they are not synchronized, so they are approximate when several threads share the table)
+    private long probes;
+    private long hits;
+    private long stores;
+
+    // Creates a table using at most the given number of megabytes
+    public TranspositionTable(int sizeInMegabytes) {
+        long maxEntries = Math.max(1, (long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        int entries = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30)); // Round down to a power of two
+        keys = new long[entries];
+        data = new long[entries];
+        indexMask = entries - 1;
+    }
+
+    // Looks up a position. Returns the packed entry, or 0 if the position is not in the table.
+    // The entry is read with scoreOf, depthOf, boundOf and moveOf.
+    public long probe(long hash) {
+        probes++;
+        int index = (int) hash & indexMask;
+        long entry = data[index];
+        // The key is stored XOR-ed with the data, so an entry torn by a concurrent write simply misses
+        if (entry == 0 || (keys[index] ^ entry) != hash) return 0;
+        hits++;
+        return entry;
+    }
+
+    // Stores a search result. An existing entry for a different position is only replaced
+    // if it is from an older search or if the new result was searched at least as deep.
+    public void store(long hash, int depth, int score, int bound, int move) {
+        int index = (int) hash & indexMask;
+        long oldData = data[index];
+        if (oldData != 0 && (keys[index] ^ oldData) != hash) {
+            int oldGeneration = (int) (oldData >>> GENERATION_SHIFT);
+            if (oldGeneration == generation && depthOf(oldData) > depth) return; // Keep the deeper entry
+        }
+        long newData = (score & 0xFFFFFFFFL)
+                | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) ((move + 1) & 0xFFFF) << MOVE_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+        keys[index] = hash ^ newData;
+        data[index] = newData;
+        stores++;
+    }
+
+    // Marks the start of a new search so entries left over from earlier moves can be replaced
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    // Removes every entry and resets the counters
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+        probes = 0;
+        hits = 0;
+        stores = 0;
+    }
+
+    // Helpers to unpack an entry returned by probe
+    public static int scoreOf(long entry) { return (int) entry; }
+    public static int depthOf(long entry) { return (int) (entry >>> DEPTH_SHIFT) & 0xFF; }
+    public static int boundOf(long entry) { return (int) (entry >>> BOUND_SHIFT) & 0x3; }
+    public static int moveOf(long entry) { return ((int) (entry >>> MOVE_SHIFT) & 0xFFFF) - 1; }
+
+    // Number of entries the table can hold
+    public int getCapacity() { return keys.length; }
+
+    public long getProbes() { return probes; }
+    public long getHits() { return hits; }
+    public long getStores() { return stores; }
+
+    // Fraction of probes that found their position (0.0 to 1.0)
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TT %d entries, %d probes, %d hits (%.1f%%), %d stores",
+                getCapacity(), probes, hits, getHitRate() * 100, stores);
+    }
+}